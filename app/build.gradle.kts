@@ -16,6 +16,13 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Room writes one JSON file per schema version here; migrations are checked against them
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     buildTypes {
@@ -37,6 +44,22 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    sourceSets {
+        // Exported schemas as assets, so MigrationTestHelper can build every old version from them
+        getByName("debug").assets.srcDir("$projectDir/schemas")
+    }
+    testOptions {
+        unitTests {
+            // Robolectric needs merged resources and the manifest for the JVM tests
+            isIncludeAndroidResources = true
+            all {
+                // DAO scaling suite: pass -PdaoScalingSizes=10000,100000,1000000 to include the 1M run
+                it.systemProperty("dao.scaling.sizes", project.findProperty("daoScalingSizes") ?: "10000,100000")
+                it.systemProperty("dao.scaling.reportDir", layout.buildDirectory.dir("reports/dao-scaling").get().asFile.path)
+                it.maxHeapSize = "2g"
+            }
+        }
+    }
 }
 
 dependencies {
@@ -52,8 +75,14 @@ dependencies {
     implementation("androidx.room:room-runtime:$room_version")
     annotationProcessor("androidx.room:room-compiler:$room_version")
 
+    // Paging
+    val paging_version = "3.2.1"
+    implementation("androidx.paging:paging-runtime:$paging_version")
+    implementation("androidx.room:room-paging:$room_version")
+
     // RecyclerView
     implementation("androidx.recyclerview:recyclerview:1.3.2")
+    implementation("androidx.asynclayoutinflater:asynclayoutinflater:1.0.0")
 
     // Lifecycle components
     implementation("androidx.lifecycle:lifecycle-livedata-ktx:2.6.2")
@@ -65,6 +94,9 @@ dependencies {
 
     // Testing
     testImplementation("junit:junit:4.13.2")
+    testImplementation("org.robolectric:robolectric:4.14.1")
+    testImplementation("androidx.test:core:1.5.0")
+    testImplementation("androidx.room:room-testing:$room_version")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
 
@@ -0,0 +1,399 @@
+package com.example.taskmanager;
+
+import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.View;
+import android.widget.ArrayAdapter;
+import android.widget.EditText;
+import android.widget.Spinner;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
+import com.example.taskmanager.data.Tag;
+import com.example.taskmanager.data.TagFilter;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskRepository;
+import com.example.taskmanager.recurrence.RecurrenceRule;
+import com.example.taskmanager.util.DateLabels;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+import com.google.android.material.datepicker.MaterialDatePicker;
+import com.google.android.material.textfield.TextInputLayout;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+public class AddEditTaskFragment extends Fragment {
+    // Positions in R.array.repeat_options; a custom rule, if any, is appended after them
+    private static final int REPEAT_NONE = 0;
+    private static final int REPEAT_DAILY = 1;
+    private static final int REPEAT_WEEKLY = 2;
+    private static final int REPEAT_MONTHLY = 3;
+    private static final int REPEAT_YEARLY = 4;
+    private static final int REPEAT_CUSTOM = 5;
+
+    private EditText etTitle, etDescription;
+    private TextView tvSelectedDate;
+    private long selectedDate = -1;
+    // Due date of the loaded task; a recurring one holds its series start, which may be long past
+    private long loadedDate = -1;
+    private TaskRepository repository;
+    private TaskListViewModel viewModel;
+    private int existingTaskId = -1;
+    private TextInputLayout tilTitle, tilDescription;
+    private View progressBar, btnSave;
+    private Spinner spRepeat;
+    // A loaded rule the presets can't express; kept unless the user picks another option
+    private String customRule;
+    private ChipGroup cgTags;
+    private EditText etNewTag;
+    // Null until the first tag list arrives
+    private List<Tag> tags;
+    // Bits of the checked tags; chips are rebuilt from it whenever the tag list changes
+    private long selectedTagMask;
+    // Completion isn't edited here, so an update carries it over from the loaded row
+    private boolean completed;
+    private long completedAt;
+
+    public AddEditTaskFragment() {
+        super(R.layout.fragment_add_edit_task);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        initializeViews(view);
+        setupInputValidation();
+        // Before loading, which selects the task's repeat option
+        setupRepeatPicker();
+        setupTagPicker(view);
+        checkForExistingTask();
+        setupDatePicker(view);
+        setupSaveButton();
+    }
+
+    private void initializeViews(View view) {
+        repository = TaskRepository.getInstance(requireContext());
+        viewModel = new ViewModelProvider(requireActivity()).get(TaskListViewModel.class);
+        tilTitle = view.findViewById(R.id.tilTitle);
+        tilDescription = view.findViewById(R.id.tilDescription);
+        etTitle = view.findViewById(R.id.etTitle);
+        etDescription = view.findViewById(R.id.etDescription);
+        tvSelectedDate = view.findViewById(R.id.tvSelectedDate);
+        progressBar = view.findViewById(R.id.progressBar);
+        btnSave = view.findViewById(R.id.btnSave);
+        spRepeat = view.findViewById(R.id.spRepeat);
+        cgTags = view.findViewById(R.id.cgTags);
+        etNewTag = view.findViewById(R.id.etNewTag);
+    }
+
+    private void setupInputValidation() {
+        etTitle.addTextChangedListener(new ClearErrorTextWatcher(tilTitle));
+        etDescription.addTextChangedListener(new ClearErrorTextWatcher(tilDescription));
+    }
+
+    private void checkForExistingTask() {
+        existingTaskId = getTaskId();
+        if (existingTaskId != -1) {
+            loadExistingTaskData();
+        }
+    }
+
+    private int getTaskId() {
+        Bundle args = getArguments();
+        return args != null ? args.getInt("TASK_ID", -1) : -1;
+    }
+
+    private void loadExistingTaskData() {
+        // Opened from the detail screen, which already holds the task
+        Task shown = viewModel.peekTask(existingTaskId);
+        if (shown != null) {
+            populateFields(shown);
+            return;
+        }
+        showLoading(true);
+        repository.getTask(getViewLifecycleOwner(), existingTaskId, (task, error) -> {
+            showLoading(false);
+            if (error != null) {
+                showError("Error loading task", error);
+            } else if (task != null) {
+                populateFields(task);
+            } else {
+                showError("Task not found", null);
+                NavHostFragment.findNavController(this).navigateUp();
+            }
+        });
+    }
+
+    private void populateFields(Task task) {
+        etTitle.setText(task.getTitle());
+        etDescription.setText(task.getDescription());
+        if (task.getDueDate() > 0) {
+            selectedDate = task.getDueDate();
+            loadedDate = selectedDate;
+            updateDateDisplay(selectedDate);
+        }
+        showRepeat(task.getRecurrenceRule(), task.getDueDate());
+        selectedTagMask = task.getTagMask();
+        completed = task.isCompleted();
+        completedAt = task.getCompletedAt();
+        showTags();
+    }
+
+    private void setupTagPicker(View view) {
+        viewModel.getTags().observe(getViewLifecycleOwner(), loaded -> {
+            tags = loaded;
+            showTags();
+        });
+        view.findViewById(R.id.btnAddTag).setOnClickListener(v -> addTag());
+    }
+
+    private void showTags() {
+        cgTags.removeAllViews();
+        if (tags == null) return;
+        for (Tag tag : tags) {
+            long bit = TagFilter.bit(tag.getBit());
+            Chip chip = new Chip(requireContext());
+            chip.setText(tag.getName());
+            chip.setCheckable(true);
+            chip.setChecked((selectedTagMask & bit) != 0);
+            chip.setOnCheckedChangeListener((button, checked) ->
+                    selectedTagMask = checked ? selectedTagMask | bit : selectedTagMask & ~bit);
+            cgTags.addView(chip);
+        }
+    }
+
+    private void addTag() {
+        String name = etNewTag.getText().toString().trim();
+        if (name.isEmpty()) return;
+        repository.createTag(getViewLifecycleOwner(), name, (tag, error) -> {
+            if (error != null || tag == null) {
+                showError("Couldn't add tag", error);
+                return;
+            }
+            etNewTag.setText(null);
+            // A new tag is meant for this task; the chip itself arrives with the next tag list
+            selectedTagMask |= TagFilter.bit(tag.getBit());
+            showTags();
+        });
+    }
+
+    private int[] selectedTagIds() {
+        int[] ids = new int[tags.size()];
+        int count = 0;
+        for (Tag tag : tags) {
+            if ((selectedTagMask & TagFilter.bit(tag.getBit())) != 0) {
+                ids[count++] = tag.getId();
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private void setupRepeatPicker() {
+        setRepeatOptions(null);
+    }
+
+    private void setRepeatOptions(@Nullable String custom) {
+        List<String> options = new ArrayList<>(Arrays.asList(getResources().getStringArray(R.array.repeat_options)));
+        if (custom != null) {
+            options.add(getString(R.string.repeat_custom, custom));
+        }
+        ArrayAdapter<String> adapter = new ArrayAdapter<>(requireContext(), android.R.layout.simple_spinner_item, options);
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spRepeat.setAdapter(adapter);
+    }
+
+    private void showRepeat(@Nullable String ruleText, long dueDate) {
+        RecurrenceRule rule = RecurrenceRule.parseOrNull(ruleText);
+        if (rule == null) {
+            spRepeat.setSelection(REPEAT_NONE);
+            return;
+        }
+        for (int position = REPEAT_DAILY; position <= REPEAT_YEARLY; position++) {
+            if (rule.equals(presetRule(position, dueDate))) {
+                spRepeat.setSelection(position);
+                return;
+            }
+        }
+        customRule = rule.toString();
+        setRepeatOptions(customRule);
+        spRepeat.setSelection(REPEAT_CUSTOM);
+    }
+
+    @Nullable
+    private static RecurrenceRule presetRule(int position, long dueDate) {
+        switch (position) {
+            case REPEAT_DAILY:
+                return RecurrenceRule.of(RecurrenceRule.Frequency.DAILY, 1);
+            case REPEAT_WEEKLY:
+                return RecurrenceRule.of(RecurrenceRule.Frequency.WEEKLY, 1);
+            case REPEAT_MONTHLY:
+                // Pinned to the day so a series starting on the 31st doesn't drift after short months
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTimeInMillis(dueDate);
+                return RecurrenceRule.monthlyOnDay(1, calendar.get(Calendar.DAY_OF_MONTH));
+            case REPEAT_YEARLY:
+                return RecurrenceRule.of(RecurrenceRule.Frequency.YEARLY, 1);
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private String selectedRule() {
+        int position = spRepeat.getSelectedItemPosition();
+        if (position == REPEAT_CUSTOM) return customRule;
+        RecurrenceRule rule = presetRule(position, selectedDate);
+        return rule != null ? rule.toString() : null;
+    }
+
+    private void setupDatePicker(View view) {
+        view.findViewById(R.id.btnPickDate).setOnClickListener(v -> showDatePicker());
+    }
+
+    private void showDatePicker() {
+        try {
+            MaterialDatePicker<Long> datePicker = MaterialDatePicker.Builder.datePicker()
+                    .setTitleText("Select Due Date")
+                    .setSelection(selectedDate != -1 ? selectedDate : MaterialDatePicker.todayInUtcMilliseconds())
+                    .build();
+
+            datePicker.addOnPositiveButtonClickListener(selection -> {
+                selectedDate = selection;
+                updateDateDisplay(selection);
+            });
+
+            datePicker.show(getChildFragmentManager(), "DATE_PICKER");
+        } catch (Exception e) {
+            showError("Failed to open date picker", e);
+        }
+    }
+
+    private void updateDateDisplay(long timestamp) {
+        tvSelectedDate.setText(DateLabels.get().format(timestamp));
+    }
+
+    private void setupSaveButton() {
+        btnSave.setOnClickListener(v -> saveTask());
+    }
+
+    private void saveTask() {
+        try {
+            if (!validateInputs() || !validateDate()) return;
+
+            Task task = createTaskFromInput();
+            showLoading(true);
+
+            TaskRepository.Callback<Void> onSaved = (ignored, error) -> {
+                showLoading(false);
+                if (error != null) {
+                    showError("Database operation failed", error);
+                } else {
+                    NavHostFragment.findNavController(this).navigateUp();
+                }
+            };
+            if (tags == null) {
+                // Tags not shown yet, so they can't have changed; the task keeps its current mask
+                if (existingTaskId == -1) {
+                    repository.insert(getViewLifecycleOwner(), task, onSaved);
+                } else {
+                    repository.update(getViewLifecycleOwner(), task, onSaved);
+                }
+            } else if (existingTaskId == -1) {
+                repository.insert(getViewLifecycleOwner(), task, selectedTagIds(), onSaved);
+            } else {
+                repository.update(getViewLifecycleOwner(), task, selectedTagIds(), onSaved);
+            }
+
+        } catch (Exception e) {
+            showError("Error saving task", e);
+        }
+    }
+
+    private boolean validateInputs() {
+        String title = etTitle.getText().toString().trim();
+        String description = etDescription.getText().toString().trim();
+        boolean isValid = true;
+
+        // Title validation
+        if (title.isEmpty()) {
+            tilTitle.setError("Title is required");
+            isValid = false;
+        } else if (title.length() > 100) {
+            tilTitle.setError("Maximum 100 characters allowed");
+            isValid = false;
+        }
+
+        // Description validation
+        if (description.length() > 500) {
+            tilDescription.setError("Maximum 500 characters allowed");
+            isValid = false;
+        }
+
+        // Date validation
+        if (selectedDate == -1) {
+            tvSelectedDate.setError("Please select a due date");
+            isValid = false;
+        }
+
+        return isValid;
+    }
+
+    // Only a date the user picked has to be in the future; an edit may keep an overdue one
+    private boolean validateDate() {
+        if (selectedDate != loadedDate && selectedDate < System.currentTimeMillis()) {
+            tvSelectedDate.setError("Date cannot be in the past");
+            return false;
+        }
+        return true;
+    }
+
+    private Task createTaskFromInput() {
+        Task task = new Task();
+        task.setTitle(etTitle.getText().toString().trim());
+        task.setDescription(etDescription.getText().toString().trim());
+        task.setDueDate(selectedDate);
+        task.setRecurrenceRule(selectedRule());
+        task.setTagMask(selectedTagMask);
+        task.setCompleted(completed);
+        task.setCompletedAt(completedAt);
+        if (existingTaskId != -1) {
+            task.setId(existingTaskId);
+        }
+        return task;
+    }
+
+    private void showError(String message, Exception e) {
+        Log.e("APP_ERROR", message + ": " + (e != null ? e.getMessage() : ""));
+        Toast.makeText(requireContext(), message, Toast.LENGTH_LONG).show();
+    }
+
+    private void showLoading(boolean show) {
+        progressBar.setVisibility(show ? View.VISIBLE : View.GONE);
+        btnSave.setEnabled(!show);
+    }
+
+    private static class ClearErrorTextWatcher implements TextWatcher {
+        private final TextInputLayout inputLayout;
+
+        ClearErrorTextWatcher(TextInputLayout inputLayout) {
+            this.inputLayout = inputLayout;
+        }
+
+        @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+        @Override public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            inputLayout.setError(null);
+        }
+    }
+}
\ No newline at end of file
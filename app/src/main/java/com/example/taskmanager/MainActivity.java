@@ -1,128 +1,93 @@
 package com.example.taskmanager;
 
-import android.content.Intent;
+import android.Manifest;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
-import android.util.Log;
-import android.widget.Toast;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
-import com.example.taskmanager.data.AppDatabase;
+import androidx.core.content.ContextCompat;
+import androidx.navigation.NavController;
+import androidx.navigation.fragment.NavHostFragment;
+import androidx.navigation.ui.NavigationUI;
+import com.example.taskmanager.startup.StartupMetrics;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
+/**
+ * Single host for the list, detail and add/edit screens. Moving between them swaps fragments in
+ * the nav host instead of starting activities, and all three share the activity-scoped
+ * {@link TaskListViewModel} along with the repository's task cache.
+ */
 public class MainActivity extends AppCompatActivity {
-    private AppDatabase database;
-    private TaskAdapter adapter;
-    private RecyclerView rvTasks;
+    private NavController navController;
+    // Without it reminders are skipped quietly, so the answer needs no handling here
+    private final ActivityResultLauncher<String> notificationPermission =
+            registerForActivityResult(new ActivityResultContracts.RequestPermission(), granted -> { });
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        observeFirstDraw();
+
+        NavHostFragment navHost = (NavHostFragment) getSupportFragmentManager()
+                .findFragmentById(R.id.nav_host_fragment);
+        navController = navHost.getNavController();
+        NavigationUI.setupActionBarWithNavController(this, navController);
 
-        try {
-            database = AppDatabase.getInstance(this);
-            setupRecyclerView();
-            setupFAB();
-            observeTasks();
-        } catch (Exception e) {
-            Log.e("MAIN_ACTIVITY", "Initialization error: " + e.getMessage());
-            Toast.makeText(this, "App initialization failed", Toast.LENGTH_LONG).show();
-            finish();
-        }
         BottomNavigationView bottomNav = findViewById(R.id.bottom_nav);
         bottomNav.setOnItemSelectedListener(item -> {
             if (item.getItemId() == R.id.nav_add) {
-                startActivity(new Intent(this, AddEditTaskActivity.class));
+                if (navController.getCurrentDestination() == null
+                        || navController.getCurrentDestination().getId() != R.id.addEditTaskFragment) {
+                    navController.navigate(R.id.addEditTaskFragment);
+                }
+                return true;
+            }
+            if (item.getItemId() == R.id.nav_tasks) {
+                navController.popBackStack(R.id.taskListFragment, false);
                 return true;
             }
             return false;
         });
-    }
-
-    private void setupFAB() {
-        try {
-            FloatingActionButton fabAdd = findViewById(R.id.fabAdd);
-            if (fabAdd != null) {
-                fabAdd.setOnClickListener(v -> {
-                    try {
-                        startActivity(new Intent(MainActivity.this, AddEditTaskActivity.class));
-                    } catch (Exception e) {
-                        Log.e("FAB_CLICK", "Error starting activity: " + e.getMessage());
-                        Toast.makeText(this, "Error creating new task", Toast.LENGTH_SHORT).show();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            Log.e("SETUP_FAB", "FAB setup failed: " + e.getMessage());
-        }
-    }
-
-    private void setupRecyclerView() {
-        try {
-            rvTasks = findViewById(R.id.rvTasks);
-            if (rvTasks != null) {
-                // Initialize adapter with empty list
-                adapter = new TaskAdapter();
-                rvTasks.setLayoutManager(new LinearLayoutManager(this));
-                rvTasks.setAdapter(adapter);
+        // Keeps the selected tab in step with back presses and in-screen navigation
+        navController.addOnDestinationChangedListener((controller, destination, arguments) -> {
+            int item = destination.getId() == R.id.addEditTaskFragment
+                    && (arguments == null || arguments.getInt("TASK_ID", -1) == -1)
+                    ? R.id.nav_add : R.id.nav_tasks;
+            bottomNav.getMenu().findItem(item).setChecked(true);
+        });
 
-                // Set click listener for items
-                adapter.setOnItemClickListener(task -> {
-                    try {
-                        if(task != null && task.getId() > 0) {
-                            Intent intent = new Intent(MainActivity.this, TaskDetailActivity.class);
-                            intent.putExtra("TASK_ID", task.getId());
-                            startActivity(intent);
-                        } else {
-                            Toast.makeText(MainActivity.this, "Invalid task", Toast.LENGTH_SHORT).show();
-                        }
-                    } catch (Exception e) {
-                        Log.e("ITEM_CLICK", "Error: " + e.getMessage());
-                        Toast.makeText(MainActivity.this, "Couldn't open task", Toast.LENGTH_SHORT).show();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            Log.e("SETUP_RECYCLER", "RecyclerView setup failed: " + e.getMessage());
-            Toast.makeText(this, "Error initializing task list", Toast.LENGTH_SHORT).show();
+        if (savedInstanceState == null) {
+            requestNotificationPermission();
         }
     }
 
-    private void observeTasks() {
-        try {
-            if (database != null && database.taskDao() != null) {
-                database.taskDao().getAllTasks().observe(this, tasks -> {
-                    try {
-                        if (tasks != null && adapter != null) {
-                            adapter.setTasks(tasks);
-                            if (tasks.isEmpty()) {
-                                Toast.makeText(MainActivity.this,
-                                        "No tasks found. Add your first task!",
-                                        Toast.LENGTH_SHORT).show();
-                            }
-                        }
-                    } catch (Exception e) {
-                        Log.e("TASK_UPDATE", "Error updating tasks: " + e.getMessage());
-                    }
-                });
-            }
-        } catch (Exception e) {
-            Log.e("TASK_OBSERVER", "Observation error: " + e.getMessage());
-            Toast.makeText(this, "Failed to load tasks", Toast.LENGTH_SHORT).show();
+    private void requestNotificationPermission() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED) {
+            notificationPermission.launch(Manifest.permission.POST_NOTIFICATIONS);
         }
     }
 
     @Override
-    protected void onResume() {
-        super.onResume();
-        // Refresh task list
-        if (adapter != null) {
-            observeTasks();
-        }
+    public boolean onSupportNavigateUp() {
+        return navController.navigateUp() || super.onSupportNavigateUp();
     }
 
-
-
-}
\ No newline at end of file
+    private void observeFirstDraw() {
+        View decor = getWindow().getDecorView();
+        decor.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decor.getViewTreeObserver().removeOnPreDrawListener(this);
+                StartupMetrics.get().mark(StartupMetrics.Milestone.FIRST_DRAW);
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskmanager;
+
+import android.graphics.Canvas;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.taskmanager.agenda.AgendaSection;
+
+/**
+ * Pins the header of the section at the top of the list while scrolling, and pushes it up when
+ * the next section's header arrives. The section comes straight from the top row, so no scan
+ * for the previous header is needed.
+ */
+public class StickyHeaderDecoration extends RecyclerView.ItemDecoration {
+
+    public interface SectionLookup {
+        @Nullable
+        AgendaSection sectionAt(int position);
+
+        boolean isHeader(int position);
+    }
+
+    private final SectionLookup lookup;
+    private View headerView;
+    private TextView headerText;
+    private AgendaSection boundSection;
+
+    public StickyHeaderDecoration(SectionLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        View topChild = parent.getChildAt(0);
+        if (topChild == null) return;
+        int topPosition = parent.getChildAdapterPosition(topChild);
+        if (topPosition == RecyclerView.NO_POSITION) return;
+        AgendaSection section = lookup.sectionAt(topPosition);
+        if (section == null) return;
+
+        View header = bind(parent, section);
+        int offset = 0;
+        // Slide the pinned header out as the next section's header reaches it
+        for (int i = 1; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            int position = parent.getChildAdapterPosition(child);
+            if (position != RecyclerView.NO_POSITION && lookup.isHeader(position)) {
+                if (child.getTop() < header.getHeight()) {
+                    offset = child.getTop() - header.getHeight();
+                }
+                break;
+            }
+        }
+
+        canvas.save();
+        canvas.translate(0, offset);
+        header.draw(canvas);
+        canvas.restore();
+    }
+
+    private View bind(RecyclerView parent, AgendaSection section) {
+        if (headerView == null) {
+            headerView = LayoutInflater.from(parent.getContext())
+                    .inflate(R.layout.item_agenda_header, parent, false);
+            headerText = headerView.findViewById(R.id.tvSection);
+        }
+        if (section != boundSection || headerView.getWidth() != parent.getWidth()) {
+            boundSection = section;
+            headerText.setText(TaskAdapter.sectionTitle(section));
+            int widthSpec = View.MeasureSpec.makeMeasureSpec(parent.getWidth(), View.MeasureSpec.EXACTLY);
+            int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+            headerView.measure(widthSpec, ViewGroup.getChildMeasureSpec(heightSpec, 0,
+                    headerView.getLayoutParams().height));
+            headerView.layout(0, 0, headerView.getMeasuredWidth(), headerView.getMeasuredHeight());
+        }
+        return headerView;
+    }
+}
@@ -1,62 +1,108 @@
 package com.example.taskmanager;
 
+import android.content.Context;
+import android.graphics.Paint;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StringRes;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
-import com.example.taskmanager.data.Task;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Locale;
-
-public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> {
-    private List<Task> tasks = new ArrayList<>();
+import com.example.taskmanager.agenda.AgendaRow;
+import com.example.taskmanager.agenda.AgendaSection;
+import com.example.taskmanager.data.TaskListItem;
+import com.example.taskmanager.recurrence.OccurrenceGenerator;
+import com.example.taskmanager.recurrence.RecurrenceRule;
+import com.example.taskmanager.util.DateLabels;
+import java.util.ArrayDeque;
+
+/**
+ * Paged agenda list of section headers and task rows. PagingDataAdapter diffs every new page
+ * generation on a background dispatcher and dispatches only the resulting item changes, so an
+ * edited row costs a single rebind. Stable ids are deliberately not enabled: PagingDataAdapter
+ * rejects them and identifies rows through {@link TaskDiffCallback#areItemsTheSame} instead.
+ */
+public class TaskAdapter extends PagingDataAdapter<AgendaRow, RecyclerView.ViewHolder>
+        implements StickyHeaderDecoration.SectionLookup {
+    static final int TYPE_HEADER = 0;
+    static final int TYPE_TASK = 1;
+
     private OnItemClickListener listener;
+    // Task rows inflated ahead of the first layout; consumed before inflating on the main thread
+    private final ArrayDeque<View> preinflatedTaskViews = new ArrayDeque<>();
+
+    public TaskAdapter() {
+        super(new TaskDiffCallback());
+    }
+
+    /**
+     * Inflates {@code count} task rows on a background thread while the first page is loading,
+     * so the first layout binds ready-made views. Must be called on the main thread.
+     */
+    public void preinflateTaskViews(@NonNull Context context, @NonNull ViewGroup parent, int count) {
+        AsyncLayoutInflater inflater = new AsyncLayoutInflater(context);
+        for (int i = 0; i < count; i++) {
+            inflater.inflate(R.layout.item_task, parent, (view, resid, ignored) -> preinflatedTaskViews.add(view));
+        }
+    }
 
     public interface OnItemClickListener {
-        void onItemClick(Task task);
+        void onItemClick(TaskListItem task);
     }
 
     public class ViewHolder extends RecyclerView.ViewHolder {
-        TextView tvTitle, tvDueDate;
+        TextView tvTitle, tvDueDate, tvProgress;
 
         public ViewHolder(@NonNull View itemView) {
             super(itemView);
             tvTitle = itemView.findViewById(R.id.tvTitle);
             tvDueDate = itemView.findViewById(R.id.tvDueDate);
+            tvProgress = itemView.findViewById(R.id.tvProgress);
 
             // Fixed deprecated getAdapterPosition()
             itemView.setOnClickListener(v -> {
                 int position = getBindingAdapterPosition();
                 if (listener != null && position != RecyclerView.NO_POSITION) {
-                    listener.onItemClick(tasks.get(position));
+                    // peek() avoids triggering another page load from a click
+                    AgendaRow row = peek(position);
+                    if (row != null && !row.isHeader()) {
+                        listener.onItemClick(row.getTask());
+                    }
                 }
             });
         }
     }
 
-    @NonNull
-    @Override
-    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_task, parent, false);
-        return new ViewHolder(view);
+    static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        final TextView tvSection;
+
+        HeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvSection = itemView.findViewById(R.id.tvSection);
+        }
     }
 
     @Override
-    public int getItemCount() {
-        return tasks == null ? 0 : tasks.size();
+    public int getItemViewType(int position) {
+        AgendaRow row = peek(position);
+        return row != null && row.isHeader() ? TYPE_HEADER : TYPE_TASK;
     }
 
-    public void setTasks(List<Task> tasks) {
-        this.tasks = tasks;
-        notifyDataSetChanged();
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == TYPE_HEADER) {
+            return new HeaderViewHolder(inflater.inflate(R.layout.item_agenda_header, parent, false));
+        }
+        View preinflated = preinflatedTaskViews.poll();
+        return new ViewHolder(preinflated != null ? preinflated : inflater.inflate(R.layout.item_task, parent, false));
     }
 
     // Add this method to set the click listener
@@ -65,18 +111,42 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> {
     }
 
     @Override
-    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
         try {
-            if (tasks != null && position < tasks.size()) {
-                Task task = tasks.get(position);
-                holder.tvTitle.setText(task.getTitle());
-
-                SimpleDateFormat sdf = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
-                if(task.getDueDate() > 0) {
-                    holder.tvDueDate.setText(sdf.format(new Date(task.getDueDate())));
-                } else {
-                    holder.tvDueDate.setText("No date set");
+            AgendaRow row = getItem(position);
+            if (holder instanceof HeaderViewHolder) {
+                HeaderViewHolder header = (HeaderViewHolder) holder;
+                if (row != null) {
+                    header.tvSection.setText(sectionTitle(row.getSection()));
                 }
+                return;
+            }
+            ViewHolder taskHolder = (ViewHolder) holder;
+            TaskListItem task = row != null ? row.getTask() : null;
+            if (task == null) {
+                // Not loaded yet; the row is rebound once its page arrives
+                taskHolder.tvTitle.setText(null);
+                taskHolder.tvDueDate.setText(null);
+                taskHolder.tvProgress.setVisibility(View.GONE);
+                return;
+            }
+            taskHolder.tvTitle.setText(task.getTitle());
+            int flags = taskHolder.tvTitle.getPaintFlags();
+            taskHolder.tvTitle.setPaintFlags(task.isCompleted()
+                    ? flags | Paint.STRIKE_THRU_TEXT_FLAG : flags & ~Paint.STRIKE_THRU_TEXT_FLAG);
+
+            if(task.getDueDate() > 0) {
+                taskHolder.tvDueDate.setText(dueLabel(taskHolder.itemView.getContext(), task));
+            } else {
+                taskHolder.tvDueDate.setText("No date set");
+            }
+            // Counted by the page query, so showing progress never queries per row
+            if(task.getSubtaskCount() > 0) {
+                taskHolder.tvProgress.setText(taskHolder.itemView.getContext().getString(
+                        R.string.subtask_progress, task.getSubtasksDone(), task.getSubtaskCount()));
+                taskHolder.tvProgress.setVisibility(View.VISIBLE);
+            } else {
+                taskHolder.tvProgress.setVisibility(View.GONE);
             }
         } catch (IndexOutOfBoundsException e) {
             Log.e("RECYCLERVIEW", "Invalid position: " + position);
@@ -85,28 +155,58 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> {
         }
     }
 
-    public void submitList(List<Task> newTasks) {
-        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new TaskDiffCallback(tasks, newTasks));
-        tasks.clear();
-        tasks.addAll(newTasks);
-        result.dispatchUpdatesTo(this);
+    /**
+     * Recurring rows are marked as such, and once their current occurrence has passed they also
+     * show the next one. Archive search hits are marked archived instead. Only bound rows look up
+     * that one date, through the shared per-rule cache.
+     */
+    private static String dueLabel(Context context, TaskListItem task) {
+        String due = DateLabels.get().format(task.getDueDate());
+        if (task.isArchived()) return context.getString(R.string.due_archived, due);
+        OccurrenceGenerator occurrences = OccurrenceGenerator.get();
+        RecurrenceRule rule = occurrences.rule(task.getRecurrenceRule());
+        if (rule == null) return due;
+        long now = System.currentTimeMillis();
+        long next = task.getDueDate() < now ? occurrences.nextAtOrAfter(rule, task.getDueDate(), now) : -1;
+        return next > 0
+                ? context.getString(R.string.due_repeating_next, due, DateLabels.get().format(next))
+                : context.getString(R.string.due_repeating, due);
+    }
+
+    @Nullable
+    @Override
+    public AgendaSection sectionAt(int position) {
+        AgendaRow row = position >= 0 && position < getItemCount() ? peek(position) : null;
+        return row != null ? row.getSection() : null;
     }
 
-    static class TaskDiffCallback extends DiffUtil.Callback {
-        private final List<Task> oldTasks, newTasks;
+    @Override
+    public boolean isHeader(int position) {
+        AgendaRow row = position >= 0 && position < getItemCount() ? peek(position) : null;
+        return row != null && row.isHeader();
+    }
 
-        TaskDiffCallback(List<Task> oldTasks, List<Task> newTasks) {
-            this.oldTasks = oldTasks;
-            this.newTasks = newTasks;
+    @StringRes
+    static int sectionTitle(AgendaSection section) {
+        switch (section) {
+            case OVERDUE: return R.string.section_overdue;
+            case TODAY: return R.string.section_today;
+            case THIS_WEEK: return R.string.section_this_week;
+            case LATER: return R.string.section_later;
+            default: return R.string.section_no_date;
         }
+    }
 
-        @Override public int getOldListSize() { return oldTasks.size(); }
-        @Override public int getNewListSize() { return newTasks.size(); }
-        @Override public boolean areItemsTheSame(int oldPos, int newPos) {
-            return oldTasks.get(oldPos).getId() == newTasks.get(newPos).getId();
+    // Same header or same task id means same row; value equality decides whether it needs rebinding
+    static class TaskDiffCallback extends DiffUtil.ItemCallback<AgendaRow> {
+        @Override public boolean areItemsTheSame(@NonNull AgendaRow oldRow, @NonNull AgendaRow newRow) {
+            if (oldRow.isHeader() || newRow.isHeader()) {
+                return oldRow.isHeader() && newRow.isHeader() && oldRow.getSection() == newRow.getSection();
+            }
+            return oldRow.getTask().getId() == newRow.getTask().getId();
         }
-        @Override public boolean areContentsTheSame(int oldPos, int newPos) {
-            return oldTasks.get(oldPos).equals(newTasks.get(newPos));
+        @Override public boolean areContentsTheSame(@NonNull AgendaRow oldRow, @NonNull AgendaRow newRow) {
+            return oldRow.equals(newRow);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package com.example.taskmanager;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+import android.view.inputmethod.EditorInfo;
+import android.widget.Button;
+import android.widget.CheckBox;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
+
+import com.example.taskmanager.data.Subtask;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskListItem;
+import com.example.taskmanager.data.TaskRepository;
+import com.example.taskmanager.recurrence.OccurrenceGenerator;
+import com.example.taskmanager.recurrence.RecurrenceRule;
+import com.example.taskmanager.util.DateLabels;
+import java.util.List;
+
+public class TaskDetailFragment extends Fragment {
+    private static final int UPCOMING_SHOWN = 5;
+
+    private TaskRepository repository;
+    private TaskListViewModel viewModel;
+    private Task currentTask;
+    private boolean deleting;
+    private TextView tvTitle, tvDescription, tvDueDate, tvOccurrences;
+    private LinearLayout llSubtasks;
+    private EditText etSubtask;
+    private Button btnComplete;
+
+    public TaskDetailFragment() {
+        super(R.layout.fragment_task_detail);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Initialize views
+        tvTitle = view.findViewById(R.id.tvTitle);
+        tvDescription = view.findViewById(R.id.tvDescription);
+        tvDueDate = view.findViewById(R.id.tvDueDate);
+        tvOccurrences = view.findViewById(R.id.tvOccurrences);
+        llSubtasks = view.findViewById(R.id.llSubtasks);
+        etSubtask = view.findViewById(R.id.etSubtask);
+        Button btnEdit = view.findViewById(R.id.btnEdit);
+        btnComplete = view.findViewById(R.id.btnComplete);
+
+        repository = TaskRepository.getInstance(requireContext());
+        viewModel = new ViewModelProvider(requireActivity()).get(TaskListViewModel.class);
+        showListSnapshot();
+        loadTaskDetails();
+        loadChecklist();
+
+        view.findViewById(R.id.btnAddSubtask).setOnClickListener(v -> addSubtask());
+        etSubtask.setOnEditorActionListener((v, actionId, event) -> {
+            if(actionId != EditorInfo.IME_ACTION_DONE) return false;
+            addSubtask();
+            return true;
+        });
+
+        btnEdit.setOnClickListener(v -> {
+            // The id is known from the first frame, so editing doesn't wait for the full row
+            int taskId = getTaskId();
+            if(taskId != -1) {
+                Bundle args = new Bundle();
+                args.putInt("TASK_ID", taskId);
+                NavHostFragment.findNavController(this).navigate(R.id.action_detail_to_edit, args);
+            }
+        });
+
+        btnComplete.setOnClickListener(v -> {
+            if(currentTask == null) return;
+            btnComplete.setEnabled(false);
+            // The observer shows the result, including a recurring task moving to its next date
+            repository.setCompleted(getViewLifecycleOwner(), currentTask.getId(), !currentTask.isCompleted(), (task, error) -> {
+                btnComplete.setEnabled(true);
+                if(error != null) {
+                    Log.e("TASK_DETAIL", "Error updating completion: " + error.getMessage());
+                    Toast.makeText(requireContext(), "Couldn't update task", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+
+        Button btnDelete = view.findViewById(R.id.btnDelete);
+        btnDelete.setOnClickListener(v -> {
+            if(currentTask == null) return;
+            btnDelete.setEnabled(false);
+            deleting = true;
+            repository.delete(getViewLifecycleOwner(), currentTask, (ignored, error) -> {
+                if(error != null) {
+                    deleting = false;
+                    btnDelete.setEnabled(true);
+                    Toast.makeText(requireContext(), "Couldn't delete task", Toast.LENGTH_SHORT).show();
+                } else {
+                    Toast.makeText(requireContext(), "Task deleted", Toast.LENGTH_SHORT).show();
+                    NavHostFragment.findNavController(this).navigateUp();
+                }
+            });
+        });
+    }
+
+    /**
+     * Renders the title and due date of the row that was tapped, so the first frame never waits
+     * on SQLite. The description follows from the cache or the first result of observeTask().
+     */
+    private void showListSnapshot() {
+        TaskListItem item = viewModel.getSelectedItem(getTaskId());
+        if(item == null) return;
+        tvTitle.setText(item.getTitle());
+        if(item.getDueDate() > 0) {
+            tvDueDate.setText(DateLabels.get().format(item.getDueDate()));
+        }
+    }
+
+    private void loadTaskDetails() {
+        int taskId = getTaskId();
+        if(taskId == -1) {
+            showError("Invalid task selected");
+            return;
+        }
+
+        // Shared with the editor and kept across back navigation; only real changes are delivered
+        viewModel.observeTask(taskId).observe(getViewLifecycleOwner(), task -> {
+            currentTask = task;
+            if(currentTask != null) {
+                tvTitle.setText(currentTask.getTitle());
+                tvDescription.setText(currentTask.getDescription());
+                tvDueDate.setText(DateLabels.get().format(currentTask.getDueDate()));
+                showUpcoming(currentTask);
+                btnComplete.setText(currentTask.isCompleted() ? R.string.mark_not_done : R.string.mark_complete);
+            } else if(!deleting) {
+                showError("Task not found");
+            }
+        });
+    }
+
+    /** Lists the next few occurrences of a recurring task; only that window is expanded. */
+    private void showUpcoming(Task task) {
+        OccurrenceGenerator occurrences = OccurrenceGenerator.get();
+        RecurrenceRule rule = occurrences.rule(task.getRecurrenceRule());
+        long[] upcoming = rule == null ? new long[0]
+                : occurrences.between(rule, task.getDueDate(), System.currentTimeMillis(), Long.MAX_VALUE, UPCOMING_SHOWN);
+        if(upcoming.length == 0) {
+            tvOccurrences.setVisibility(View.GONE);
+            return;
+        }
+        StringBuilder dates = new StringBuilder();
+        for(long occurrence : upcoming) {
+            if(dates.length() > 0) dates.append(", ");
+            dates.append(DateLabels.get().format(occurrence));
+        }
+        tvOccurrences.setText(getString(R.string.upcoming_occurrences, dates));
+        tvOccurrences.setVisibility(View.VISIBLE);
+    }
+
+    private void loadChecklist() {
+        int taskId = getTaskId();
+        if(taskId == -1) return;
+        repository.observeSubtasks(taskId).observe(getViewLifecycleOwner(), this::showChecklist);
+    }
+
+    // Checklists are short, so rows are rebuilt in place rather than going through a RecyclerView
+    private void showChecklist(List<Subtask> subtasks) {
+        llSubtasks.removeAllViews();
+        for(Subtask subtask : subtasks) {
+            CheckBox item = new CheckBox(requireContext());
+            item.setText(subtask.getTitle());
+            item.setChecked(subtask.isDone());
+            item.setOnCheckedChangeListener((button, checked) ->
+                    repository.setSubtaskDone(getViewLifecycleOwner(), subtask.getId(), checked, this::onSubtaskWritten));
+            item.setOnLongClickListener(v -> {
+                repository.deleteSubtask(getViewLifecycleOwner(), subtask, this::onSubtaskWritten);
+                return true;
+            });
+            llSubtasks.addView(item);
+        }
+    }
+
+    private void addSubtask() {
+        String title = etSubtask.getText().toString().trim();
+        int taskId = getTaskId();
+        if(title.isEmpty() || taskId == -1) return;
+        etSubtask.setText(null);
+        repository.addSubtask(getViewLifecycleOwner(), taskId, title, this::onSubtaskWritten);
+    }
+
+    private void onSubtaskWritten(Void ignored, Exception error) {
+        if(error != null) {
+            Log.e("CHECKLIST", "Error saving checklist: " + error.getMessage());
+            Toast.makeText(requireContext(), "Couldn't update checklist", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private int getTaskId() {
+        Bundle args = getArguments();
+        return args != null ? args.getInt("TASK_ID", -1) : -1;
+    }
+
+    private void showError(String message) {
+        Toast.makeText(requireContext(), message, Toast.LENGTH_SHORT).show();
+        NavHostFragment.findNavController(this).navigateUp();
+    }
+}
@@ -0,0 +1,468 @@
+package com.example.taskmanager;
+
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.provider.OpenableColumns;
+import android.util.Log;
+import android.view.Menu;
+import android.view.MenuInflater;
+import android.view.MenuItem;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.Toast;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AlertDialog;
+import androidx.core.view.MenuProvider;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.taskmanager.agenda.AgendaRow;
+import com.example.taskmanager.data.Tag;
+import com.example.taskmanager.data.TagFilter;
+import com.example.taskmanager.data.TaskListItem;
+import com.example.taskmanager.data.TaskRepository;
+import com.example.taskmanager.startup.StartupPipeline;
+import com.example.taskmanager.transfer.TaskFormat;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.google.android.material.progressindicator.LinearProgressIndicator;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import kotlin.Unit;
+
+public class TaskListFragment extends Fragment {
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+    // Roughly one screen of task rows
+    private static final int PREINFLATED_TASK_VIEWS = 8;
+    // Some providers label CSV as text/plain or the legacy CSV type
+    private static final String[] IMPORT_TYPES = {
+            "application/json", "text/csv", "text/comma-separated-values", "text/plain"
+    };
+
+    private TaskRepository repository;
+    private TaskListViewModel viewModel;
+    private TaskAdapter adapter;
+    private RecyclerView rvTasks;
+    private boolean emptyNoticeShown;
+
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable pendingSearch = this::runSearch;
+    private final Handler progressHandler = new Handler(Looper.getMainLooper());
+    private String activeQuery = "";
+    private int searchGeneration;
+    private PagingData<AgendaRow> latestTasks;
+    private Chip chipSearchArchive;
+    private LinearProgressIndicator progressTransfer;
+    private boolean transferRunning;
+
+    private final ActivityResultLauncher<String> exportJson = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(TaskFormat.JSON.getMimeType()), uri -> exportTo(uri, TaskFormat.JSON));
+    private final ActivityResultLauncher<String> exportCsv = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(TaskFormat.CSV.getMimeType()), uri -> exportTo(uri, TaskFormat.CSV));
+    private final ActivityResultLauncher<String[]> importDocument = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::importFrom);
+
+    public TaskListFragment() {
+        super(R.layout.fragment_task_list);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        try {
+            repository = TaskRepository.getInstance(requireContext());
+            // Activity-scoped: the same instance, pages and selection survive detail and edit
+            viewModel = new ViewModelProvider(requireActivity()).get(TaskListViewModel.class);
+            setupRecyclerView(view);
+            setupFAB(view);
+            setupSearch(view);
+            setupTagFilter(view);
+            setupTransferMenu(view);
+            observeTasks();
+        } catch (Exception e) {
+            Log.e("TASK_LIST", "Initialization error: " + e.getMessage());
+            Toast.makeText(requireContext(), "Error initializing task list", Toast.LENGTH_LONG).show();
+        }
+    }
+
+    private void setupFAB(View view) {
+        try {
+            FloatingActionButton fabAdd = view.findViewById(R.id.fabAdd);
+            if (fabAdd != null) {
+                fabAdd.setOnClickListener(v -> {
+                    try {
+                        NavHostFragment.findNavController(this).navigate(R.id.action_list_to_add);
+                    } catch (Exception e) {
+                        Log.e("FAB_CLICK", "Error opening editor: " + e.getMessage());
+                        Toast.makeText(requireContext(), "Error creating new task", Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            Log.e("SETUP_FAB", "FAB setup failed: " + e.getMessage());
+        }
+    }
+
+    private void setupRecyclerView(View view) {
+        try {
+            rvTasks = view.findViewById(R.id.rvTasks);
+            if (rvTasks != null) {
+                // A new view gets a new adapter; the pages themselves come from the ViewModel cache
+                adapter = new TaskAdapter();
+                adapter.preinflateTaskViews(requireContext(), rvTasks, PREINFLATED_TASK_VIEWS);
+                observeFirstTask();
+                rvTasks.setLayoutManager(new LinearLayoutManager(requireContext()));
+                rvTasks.setAdapter(adapter);
+                rvTasks.addItemDecoration(new StickyHeaderDecoration(adapter));
+                adapter.addLoadStateListener(loadStates -> {
+                    boolean loaded = loadStates.getRefresh() instanceof LoadState.NotLoading
+                            && loadStates.getAppend().getEndOfPaginationReached();
+                    if (loaded && adapter.getItemCount() == 0 && activeQuery.isEmpty()
+                            && viewModel.getTagFilter().isEmpty()) {
+                        if (!emptyNoticeShown) {
+                            emptyNoticeShown = true;
+                            Toast.makeText(requireContext(),
+                                    "No tasks found. Add your first task!",
+                                    Toast.LENGTH_SHORT).show();
+                        }
+                    } else if (adapter.getItemCount() > 0) {
+                        emptyNoticeShown = false;
+                    }
+                    return Unit.INSTANCE;
+                });
+
+                // Set click listener for items
+                adapter.setOnItemClickListener(task -> {
+                    try {
+                        if(task != null && task.isArchived()) {
+                            confirmRestore(task);
+                        } else if(task != null && task.getId() > 0) {
+                            // The detail screen draws this row before its own query returns
+                            viewModel.select(task);
+                            Bundle args = new Bundle();
+                            args.putInt("TASK_ID", task.getId());
+                            NavHostFragment.findNavController(this).navigate(R.id.action_list_to_detail, args);
+                        } else {
+                            Toast.makeText(requireContext(), "Invalid task", Toast.LENGTH_SHORT).show();
+                        }
+                    } catch (Exception e) {
+                        Log.e("ITEM_CLICK", "Error: " + e.getMessage());
+                        Toast.makeText(requireContext(), "Couldn't open task", Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            Log.e("SETUP_RECYCLER", "RecyclerView setup failed: " + e.getMessage());
+            Toast.makeText(requireContext(), "Error initializing task list", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    // Time to first task: the first page of rows reaching the list after a cold start
+    private void observeFirstTask() {
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                if (adapter.getItemCount() == 0 || !activeQuery.isEmpty()) return;
+                adapter.unregisterAdapterDataObserver(this);
+                // Posted so the layout pass the insert triggers runs before the mark
+                rvTasks.post(() -> {
+                    StartupPipeline.reportFirstTask();
+                    if (getActivity() != null) getActivity().reportFullyDrawn();
+                });
+            }
+        });
+    }
+
+    private void observeTasks() {
+        try {
+            // Re-observed per view; the ViewModel keeps the stream alive across navigation and rotation
+            viewModel.getTasks().observe(getViewLifecycleOwner(), pagingData -> {
+                try {
+                    latestTasks = pagingData;
+                    // While a search is showing, keep the latest list for when it is cleared
+                    if (pagingData != null && adapter != null && activeQuery.isEmpty()) {
+                        adapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData);
+                    }
+                } catch (Exception e) {
+                    Log.e("TASK_UPDATE", "Error updating tasks: " + e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            Log.e("TASK_OBSERVER", "Observation error: " + e.getMessage());
+            Toast.makeText(requireContext(), "Failed to load tasks", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private void setupSearch(View view) {
+        EditText etSearch = view.findViewById(R.id.etSearch);
+        if (etSearch == null) return;
+        chipSearchArchive = view.findViewById(R.id.chipSearchArchive);
+        if (chipSearchArchive != null) {
+            chipSearchArchive.setOnCheckedChangeListener((chip, checked) -> {
+                if (!activeQuery.isEmpty()) {
+                    searchHandler.removeCallbacks(pendingSearch);
+                    runSearch();
+                }
+            });
+        }
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+            @Override public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchHandler.removeCallbacks(pendingSearch);
+                activeQuery = s.toString().trim();
+                if (chipSearchArchive != null) {
+                    chipSearchArchive.setVisibility(activeQuery.isEmpty() ? View.GONE : View.VISIBLE);
+                }
+                if (activeQuery.isEmpty()) {
+                    searchGeneration++;
+                    if (latestTasks != null && adapter != null) {
+                        adapter.submitData(getViewLifecycleOwner().getLifecycle(), latestTasks);
+                    }
+                } else {
+                    searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
+                }
+            }
+        });
+    }
+
+    // One chip per tag after the fixed "match all" chip; the checked ones form the list's tag filter
+    private void setupTagFilter(View view) {
+        View bar = view.findViewById(R.id.svTagFilter);
+        ChipGroup group = view.findViewById(R.id.cgTagFilter);
+        Chip matchAll = view.findViewById(R.id.chipMatchAll);
+        if (bar == null || group == null || matchAll == null) return;
+        matchAll.setChecked(viewModel.getTagFilter().isMatchAll());
+        matchAll.setOnCheckedChangeListener((chip, checked) -> applyTagFilter(group, matchAll));
+
+        viewModel.getTags().observe(getViewLifecycleOwner(), tags -> {
+            long selected = viewModel.getTagFilter().getMask();
+            group.removeViews(1, group.getChildCount() - 1);
+            for (Tag tag : tags) {
+                long bit = TagFilter.bit(tag.getBit());
+                Chip chip = new Chip(requireContext());
+                chip.setText(tag.getName());
+                chip.setCheckable(true);
+                chip.setChecked((selected & bit) != 0);
+                chip.setTag(bit);
+                chip.setOnCheckedChangeListener((button, checked) -> applyTagFilter(group, matchAll));
+                group.addView(chip);
+            }
+            bar.setVisibility(tags.isEmpty() ? View.GONE : View.VISIBLE);
+            // Drops the bits of tags that were deleted meanwhile
+            applyTagFilter(group, matchAll);
+        });
+    }
+
+    private void applyTagFilter(ChipGroup group, Chip matchAll) {
+        long mask = 0;
+        for (int i = 1; i < group.getChildCount(); i++) {
+            Chip chip = (Chip) group.getChildAt(i);
+            if (chip.isChecked()) mask |= (Long) chip.getTag();
+        }
+        TagFilter filter = matchAll.isChecked() ? TagFilter.all(mask) : TagFilter.any(mask);
+        if (viewModel.setTagFilter(filter) && !activeQuery.isEmpty()) {
+            searchHandler.removeCallbacks(pendingSearch);
+            runSearch();
+        }
+    }
+
+    private void setupTransferMenu(View view) {
+        progressTransfer = view.findViewById(R.id.progressTransfer);
+        requireActivity().addMenuProvider(new MenuProvider() {
+            @Override
+            public void onCreateMenu(@NonNull Menu menu, @NonNull MenuInflater inflater) {
+                inflater.inflate(R.menu.menu_task_list, menu);
+            }
+
+            @Override
+            public boolean onMenuItemSelected(@NonNull MenuItem item) {
+                int id = item.getItemId();
+                if (id != R.id.action_export_json && id != R.id.action_export_csv && id != R.id.action_import) {
+                    return false;
+                }
+                if (transferRunning) {
+                    Toast.makeText(requireContext(), R.string.transfer_busy, Toast.LENGTH_SHORT).show();
+                } else if (id == R.id.action_export_json) {
+                    exportJson.launch("tasks." + TaskFormat.JSON.getExtension());
+                } else if (id == R.id.action_export_csv) {
+                    exportCsv.launch("tasks." + TaskFormat.CSV.getExtension());
+                } else {
+                    importDocument.launch(IMPORT_TYPES);
+                }
+                return true;
+            }
+        }, getViewLifecycleOwner(), Lifecycle.State.RESUMED);
+    }
+
+    private void exportTo(@Nullable Uri uri, TaskFormat format) {
+        if (uri == null) return;
+        ContentResolver resolver = requireContext().getContentResolver();
+        startTransfer();
+        repository.exportTasks(getViewLifecycleOwner(), format, () -> {
+            OutputStream out = resolver.openOutputStream(uri, "wt");
+            if (out == null) throw new FileNotFoundException(uri.toString());
+            return out;
+        }, this::postTransferProgress, (count, error) -> {
+            finishTransfer();
+            if (error != null || count == null) {
+                Log.e("TASK_EXPORT", "Export failed: " + (error != null ? error.getMessage() : "no result"));
+                Toast.makeText(requireContext(), "Couldn't export tasks", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            Toast.makeText(requireContext(), getResources().getQuantityString(
+                    R.plurals.export_done, count.intValue(), count.intValue()), Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    private void importFrom(@Nullable Uri uri) {
+        if (uri == null) return;
+        ContentResolver resolver = requireContext().getContentResolver();
+        String name = null;
+        long size = 0;
+        try (Cursor cursor = resolver.query(uri, new String[]{OpenableColumns.DISPLAY_NAME, OpenableColumns.SIZE},
+                null, null, null)) {
+            if (cursor != null && cursor.moveToFirst()) {
+                name = cursor.getString(0);
+                size = cursor.isNull(1) ? 0 : cursor.getLong(1);
+            }
+        } catch (Exception e) {
+            Log.e("TASK_IMPORT", "Couldn't read file details: " + e.getMessage());
+        }
+        TaskFormat format = TaskFormat.detect(resolver.getType(uri), name);
+        if (format == null) {
+            Toast.makeText(requireContext(), R.string.import_unknown_format, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        startTransfer();
+        repository.importTasks(getViewLifecycleOwner(), format, () -> {
+            InputStream in = resolver.openInputStream(uri);
+            if (in == null) throw new FileNotFoundException(uri.toString());
+            return in;
+        }, size, this::postTransferProgress, (count, error) -> {
+            finishTransfer();
+            // Pages before a bad row are already in; the list refreshes on its own either way
+            if (error != null || count == null) {
+                Log.e("TASK_IMPORT", "Import failed: " + (error != null ? error.getMessage() : "no result"));
+                Toast.makeText(requireContext(), "Couldn't import tasks: "
+                        + (error != null ? error.getMessage() : ""), Toast.LENGTH_LONG).show();
+                return;
+            }
+            Toast.makeText(requireContext(), getResources().getQuantityString(
+                    R.plurals.import_done, count.intValue(), count.intValue()), Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    private void startTransfer() {
+        transferRunning = true;
+        if (progressTransfer != null) {
+            progressTransfer.setIndeterminate(true);
+            progressTransfer.setVisibility(View.VISIBLE);
+        }
+    }
+
+    // Called on the worker thread once per page of tasks
+    private void postTransferProgress(long done, long total) {
+        progressHandler.post(() -> {
+            if (progressTransfer == null || !transferRunning) return;
+            if (total > 0) {
+                progressTransfer.setIndeterminate(false);
+                progressTransfer.setProgressCompat((int) Math.min(1000, done * 1000 / total), true);
+            }
+        });
+    }
+
+    private void finishTransfer() {
+        transferRunning = false;
+        if (progressTransfer != null) {
+            progressTransfer.setVisibility(View.GONE);
+        }
+    }
+
+    private void runSearch() {
+        int generation = ++searchGeneration;
+        boolean includeArchive = chipSearchArchive != null && chipSearchArchive.isChecked();
+        repository.search(getViewLifecycleOwner(), activeQuery, viewModel.getTagFilter(), (results, error) -> {
+            // A newer keystroke already superseded this query
+            if (generation != searchGeneration || adapter == null) return;
+            if (error != null) {
+                Log.e("TASK_SEARCH", "Search failed: " + error.getMessage());
+                return;
+            }
+            showSearchResults(results);
+            // The archive is only searched when asked for; its hits follow the live ones
+            if (includeArchive) {
+                repository.searchArchive(getViewLifecycleOwner(), activeQuery, (archived, archiveError) -> {
+                    if (generation != searchGeneration || adapter == null) return;
+                    if (archiveError != null) {
+                        Log.e("TASK_SEARCH", "Archive search failed: " + archiveError.getMessage());
+                        return;
+                    }
+                    List<TaskListItem> combined = new ArrayList<>(results);
+                    combined.addAll(archived);
+                    showSearchResults(combined);
+                });
+            }
+        });
+    }
+
+    private void showSearchResults(List<TaskListItem> results) {
+        // Ranked results carry no section, so no headers are pinned over them
+        List<AgendaRow> rows = new ArrayList<>(results.size());
+        for (TaskListItem item : results) {
+            rows.add(AgendaRow.task(item, null));
+        }
+        adapter.submitData(getViewLifecycleOwner().getLifecycle(), PagingData.from(rows));
+    }
+
+    private void confirmRestore(TaskListItem task) {
+        new AlertDialog.Builder(requireContext())
+                .setTitle(R.string.restore_task_title)
+                .setMessage(getString(R.string.restore_task_message, task.getTitle()))
+                .setNegativeButton(android.R.string.cancel, null)
+                .setPositiveButton(R.string.restore, (dialog, which) ->
+                        repository.restore(getViewLifecycleOwner(), task.getId(), (restored, error) -> {
+                            if (error != null || !Boolean.TRUE.equals(restored)) {
+                                Log.e("TASK_RESTORE", "Restore failed: " + (error != null ? error.getMessage() : "not archived"));
+                                Toast.makeText(requireContext(), "Couldn't restore task", Toast.LENGTH_SHORT).show();
+                                return;
+                            }
+                            Toast.makeText(requireContext(), "Task restored", Toast.LENGTH_SHORT).show();
+                            if (!activeQuery.isEmpty()) runSearch();
+                        }))
+                .show();
+    }
+
+    @Override
+    public void onDestroyView() {
+        searchHandler.removeCallbacks(pendingSearch);
+        adapter = null;
+        rvTasks = null;
+        chipSearchArchive = null;
+        progressHandler.removeCallbacksAndMessages(null);
+        progressTransfer = null;
+        // A running transfer still completes; only its result is no longer shown
+        transferRunning = false;
+        super.onDestroyView();
+    }
+}
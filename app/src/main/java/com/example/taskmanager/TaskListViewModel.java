@@ -0,0 +1,138 @@
+package com.example.taskmanager;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+
+import com.example.taskmanager.agenda.AgendaRow;
+import com.example.taskmanager.agenda.AgendaSections;
+import com.example.taskmanager.data.Tag;
+import com.example.taskmanager.data.TagFilter;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskListItem;
+import com.example.taskmanager.data.TaskRepository;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import kotlin.jvm.functions.Function1;
+
+/**
+ * Activity-scoped state shared by the list, detail and edit fragments. The paged agenda stream
+ * is created once and cached in the ViewModel scope, so resumes, configuration changes and
+ * returning from another screen reuse the loaded pages, and every database invalidation triggers
+ * a single reload no matter how many times the list is shown. Section headers are inserted page
+ * by page on a background thread as pages load.
+ *
+ * <p>A tag filter swaps in a new pager over the filtered query; clearing it goes back to the
+ * full list the same way.
+ *
+ * <p>The task opened from the list is held here too: the detail screen draws the tapped row at
+ * once, and detail and edit observe the same task stream instead of each querying it again.
+ */
+public class TaskListViewModel extends AndroidViewModel {
+    // Pages are dropped once more than MAX_LOADED_TASKS rows are held, keeping memory bounded
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_LOADED_TASKS = 300;
+    public static final int INITIAL_LOAD_SIZE = PAGE_SIZE * 2;
+
+    private final ExecutorService sectionExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "agenda-sections"));
+    private final TaskRepository repository;
+    private final MutableLiveData<TagFilter> tagFilter = new MutableLiveData<>(TagFilter.NONE);
+    private final LiveData<PagingData<AgendaRow>> tasks;
+    private final LiveData<List<Tag>> tags;
+    private TaskListItem selectedItem;
+    private int observedTaskId = -1;
+    private LiveData<Task> observedTask;
+
+    public TaskListViewModel(@NonNull Application application) {
+        this(application, TaskRepository.getInstance(application));
+    }
+
+    TaskListViewModel(@NonNull Application application, TaskRepository repository) {
+        super(application);
+        this.repository = repository;
+        PagingConfig config = new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, INITIAL_LOAD_SIZE, MAX_LOADED_TASKS);
+        Function1<TagFilter, LiveData<PagingData<TaskListItem>>> toPages = filter ->
+                PagingLiveData.getLiveData(new Pager<>(config, () -> repository.getTaskListPaged(filter)));
+        LiveData<PagingData<TaskListItem>> pages = Transformations.switchMap(tagFilter, toPages);
+
+        // Typed variable: a bare lambda is ambiguous between the Kotlin and arch-core map overloads
+        Function1<PagingData<TaskListItem>, PagingData<AgendaRow>> toAgenda = pagingData -> {
+            // Boundaries are fixed per generation, so "today" follows the clock on every reload
+            AgendaSections sections = AgendaSections.now();
+            PagingData<AgendaRow> rows = PagingDataTransforms.map(pagingData, sectionExecutor, sections::toRow);
+            return PagingDataTransforms.insertSeparators(rows, sectionExecutor, sections::headerBetween);
+        };
+        tasks = PagingLiveData.cachedIn(
+                Transformations.map(pages, toAgenda),
+                ViewModelKt.getViewModelScope(this));
+        tags = repository.observeTags();
+    }
+
+    public LiveData<PagingData<AgendaRow>> getTasks() {
+        return tasks;
+    }
+
+    public LiveData<List<Tag>> getTags() {
+        return tags;
+    }
+
+    public TagFilter getTagFilter() {
+        return tagFilter.getValue();
+    }
+
+    /**
+     * Switches the list to {@code filter} and returns whether it changed; setting the current
+     * filter again keeps the loaded pages.
+     */
+    public boolean setTagFilter(TagFilter filter) {
+        if (filter.equals(tagFilter.getValue())) return false;
+        tagFilter.setValue(filter);
+        return true;
+    }
+
+    /** Remembers the tapped row so the detail screen can render it before its query returns. */
+    public void select(TaskListItem item) {
+        selectedItem = item;
+    }
+
+    @Nullable
+    public TaskListItem getSelectedItem(int taskId) {
+        TaskListItem item = selectedItem;
+        return item != null && item.getId() == taskId ? item : null;
+    }
+
+    /** The task stream for {@code taskId}, reused while the same task stays open. */
+    public LiveData<Task> observeTask(int taskId) {
+        if (observedTask == null || observedTaskId != taskId) {
+            observedTaskId = taskId;
+            observedTask = repository.observeTask(taskId);
+        }
+        return observedTask;
+    }
+
+    /** The last task delivered for {@code taskId}, or null if it isn't the one being observed. */
+    @Nullable
+    public Task peekTask(int taskId) {
+        return observedTask != null && observedTaskId == taskId ? observedTask.getValue() : null;
+    }
+
+    @Override
+    protected void onCleared() {
+        sectionExecutor.shutdown();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanager;
+
+import android.app.Application;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
+import androidx.core.content.ContextCompat;
+
+import com.example.taskmanager.recurrence.OccurrenceGenerator;
+import com.example.taskmanager.startup.StartupPipeline;
+import com.example.taskmanager.util.DateLabels;
+
+public class TaskManagerApplication extends Application {
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Open the database and warm the first page off the main thread before the first activity asks
+        StartupPipeline.start(this);
+        registerCalendarCacheInvalidation();
+    }
+
+    private void registerCalendarCacheInvalidation() {
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_LOCALE_CHANGED);
+        filter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+        ContextCompat.registerReceiver(this, new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                DateLabels.get().invalidate();
+                OccurrenceGenerator.get().invalidate();
+            }
+        }, filter, ContextCompat.RECEIVER_NOT_EXPORTED);
+    }
+}
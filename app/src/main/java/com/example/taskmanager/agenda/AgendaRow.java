@@ -0,0 +1,50 @@
+package com.example.taskmanager.agenda;
+
+import com.example.taskmanager.data.TaskListItem;
+
+import java.util.Objects;
+
+/** One row of the agenda list: either a section header or a task tagged with its section. */
+public final class AgendaRow {
+    private final AgendaSection section;
+    private final TaskListItem task;
+
+    private AgendaRow(AgendaSection section, TaskListItem task) {
+        this.section = section;
+        this.task = task;
+    }
+
+    public static AgendaRow header(AgendaSection section) {
+        return new AgendaRow(section, null);
+    }
+
+    /** {@code section} may be null for rows shown outside the agenda, such as search results. */
+    public static AgendaRow task(TaskListItem task, AgendaSection section) {
+        return new AgendaRow(section, task);
+    }
+
+    public boolean isHeader() {
+        return task == null;
+    }
+
+    public AgendaSection getSection() {
+        return section;
+    }
+
+    public TaskListItem getTask() {
+        return task;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AgendaRow)) return false;
+        AgendaRow other = (AgendaRow) o;
+        return section == other.section && Objects.equals(task, other.task);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(section, task);
+    }
+}
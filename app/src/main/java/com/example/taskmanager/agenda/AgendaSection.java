@@ -0,0 +1,10 @@
+package com.example.taskmanager.agenda;
+
+/** Agenda buckets in list order (the list is sorted by due date, undated tasks first). */
+public enum AgendaSection {
+    NO_DATE,
+    OVERDUE,
+    TODAY,
+    THIS_WEEK,
+    LATER
+}
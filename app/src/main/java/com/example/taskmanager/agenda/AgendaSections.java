@@ -0,0 +1,64 @@
+package com.example.taskmanager.agenda;
+
+import com.example.taskmanager.data.TaskListItem;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Buckets due dates into {@link AgendaSection}s relative to a fixed "now". Boundaries are
+ * computed once up front, so classifying a row is three comparisons and needs no calendar math.
+ * Rows are bucketed by their stored due date, which the list is sorted by, so each section is
+ * one contiguous run; a recurring series that has started is overdue until it is completed.
+ * Used as a paging separator generator, which runs page by page on a background executor.
+ */
+public final class AgendaSections {
+    private final long startOfToday;
+    private final long startOfTomorrow;
+    private final long startOfNextWeek;
+
+    public AgendaSections(long now, TimeZone timeZone, Locale locale) {
+        Calendar calendar = Calendar.getInstance(timeZone, locale);
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        startOfToday = calendar.getTimeInMillis();
+
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        startOfTomorrow = calendar.getTimeInMillis();
+
+        // Walk forward to the locale's first day of the week
+        while (calendar.get(Calendar.DAY_OF_WEEK) != calendar.getFirstDayOfWeek()) {
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        startOfNextWeek = calendar.getTimeInMillis();
+    }
+
+    public static AgendaSections now() {
+        return new AgendaSections(System.currentTimeMillis(), TimeZone.getDefault(), Locale.getDefault());
+    }
+
+    public AgendaSection sectionOf(long dueDate) {
+        if (dueDate <= 0) return AgendaSection.NO_DATE;
+        if (dueDate < startOfToday) return AgendaSection.OVERDUE;
+        if (dueDate < startOfTomorrow) return AgendaSection.TODAY;
+        if (dueDate < startOfNextWeek) return AgendaSection.THIS_WEEK;
+        return AgendaSection.LATER;
+    }
+
+    public AgendaRow toRow(TaskListItem task) {
+        return AgendaRow.task(task, sectionOf(task.getDueDate()));
+    }
+
+    /** Separator generator: a header before the first row of each section, otherwise null. */
+    public AgendaRow headerBetween(AgendaRow before, AgendaRow after) {
+        if (after == null) return null;
+        if (before == null || before.getSection() != after.getSection()) {
+            return AgendaRow.header(after.getSection());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.taskmanager.backup;
+
+import android.database.Cursor;
+
+import androidx.annotation.WorkerThread;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.example.taskmanager.data.AppDatabase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Writes the database to a {@link SnapshotFormat} file and restores it from one. A snapshot is
+ * read in a single transaction, so it is consistent across tables. Restore maps the file,
+ * checks it and replaces every table in {@link #TABLES} in one transaction, so a bad file
+ * leaves the database as it was. FTS indexes are not stored; their triggers rebuild them.
+ */
+public final class SnapshotBackup {
+    // Parents before children; restore clears them in reverse
+    static final String[] TABLES =
+            {"tags", "tasks", "task_tags", "subtasks", "archived_tasks", "archived_subtasks", "archived_task_tags"};
+    private static final int PAGE_SIZE = 5000;
+
+    private SnapshotBackup() {
+    }
+
+    /**
+     * Writes every table in {@link #TABLES} to {@code file} and returns the number of rows. The
+     * snapshot goes to a temporary file first and replaces {@code file} only once it is synced.
+     */
+    @WorkerThread
+    public static long write(AppDatabase database, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Can't create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        long rows;
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            FileChannel channel = out.getChannel();
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            SnapshotWriter writer = new SnapshotWriter(channel, db.getVersion(), System.currentTimeMillis());
+            // Only for a consistent read across tables. Not Room's transaction, which is meant for
+            // writes and would make every observer re-query once it ends
+            db.beginTransactionNonExclusive();
+            try {
+                rows = 0;
+                for (String table : TABLES) {
+                    rows += writeTable(db, writer, table);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            writer.finish();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Can't replace " + file);
+        }
+        return rows;
+    }
+
+    /**
+     * Replaces the tables in {@link #TABLES} with the contents of {@code file} and returns the
+     * number of rows restored. Columns are matched by name, so snapshots from older schema
+     * versions restore with defaults for newer columns; snapshots from newer versions are refused.
+     */
+    @WorkerThread
+    public static long restore(AppDatabase database, File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Snapshot too large to map: " + file);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            // Verifies the checksum before anything is deleted
+            SnapshotReader reader = new SnapshotReader(mapped);
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            if (reader.getSchemaVersion() > db.getVersion()) {
+                throw new IOException("Snapshot schema " + reader.getSchemaVersion()
+                        + " is newer than database schema " + db.getVersion());
+            }
+            return inTransaction(database, () -> {
+                // Checked at commit, so rows may arrive in any table order
+                db.execSQL("PRAGMA defer_foreign_keys = ON");
+                for (int i = TABLES.length - 1; i >= 0; i--) {
+                    db.execSQL("DELETE FROM `" + TABLES[i] + "`");
+                }
+                Set<String> known = new HashSet<>(Arrays.asList(TABLES));
+                long total = 0;
+                while (reader.nextTable()) {
+                    if (known.contains(reader.getTableName())) {
+                        total += restoreTable(db, reader);
+                    }
+                }
+                // Archived rows keep their ids; the counters must not hand them out again
+                raiseSequence(db, "tasks", "tasks", "archived_tasks");
+                raiseSequence(db, "subtasks", "subtasks", "archived_subtasks");
+                raiseSequence(db, "tags", "tags");
+                return total;
+            });
+        }
+    }
+
+    // Keyset pages on rowid: one long cursor would re-run its query from the start for every window
+    private static long writeTable(SupportSQLiteDatabase db, SnapshotWriter writer, String table) throws IOException {
+        long lastRowId = Long.MIN_VALUE;
+        long rows = 0;
+        String[] columns = null;
+        int pageRows;
+        do {
+            pageRows = 0;
+            try (Cursor cursor = db.query("SELECT rowid, * FROM `" + table + "` WHERE rowid > ? ORDER BY rowid LIMIT "
+                    + PAGE_SIZE, new Object[]{lastRowId})) {
+                if (columns == null) {
+                    columns = Arrays.copyOfRange(cursor.getColumnNames(), 1, cursor.getColumnCount());
+                    writer.beginTable(table, columns);
+                }
+                while (cursor.moveToNext()) {
+                    lastRowId = cursor.getLong(0);
+                    writer.beginRow();
+                    for (int i = 1; i <= columns.length; i++) {
+                        switch (cursor.getType(i)) {
+                            case Cursor.FIELD_TYPE_NULL: writer.putNull(); break;
+                            case Cursor.FIELD_TYPE_INTEGER: writer.putLong(cursor.getLong(i)); break;
+                            case Cursor.FIELD_TYPE_FLOAT: writer.putDouble(cursor.getDouble(i)); break;
+                            case Cursor.FIELD_TYPE_BLOB: writer.putBlob(cursor.getBlob(i)); break;
+                            default: writer.putText(cursor.getString(i));
+                        }
+                    }
+                    writer.endRow();
+                    pageRows++;
+                }
+            }
+            rows += pageRows;
+        } while (pageRows == PAGE_SIZE);
+        writer.endTable();
+        return rows;
+    }
+
+    // One compiled insert per table, bound once per row; snapshot columns the table lacks are skipped
+    private static long restoreTable(SupportSQLiteDatabase db, SnapshotReader reader) throws IOException {
+        String table = reader.getTableName();
+        Set<String> existing = new HashSet<>();
+        try (Cursor info = db.query("PRAGMA table_info(`" + table + "`)")) {
+            int name = info.getColumnIndexOrThrow("name");
+            while (info.moveToNext()) {
+                existing.add(info.getString(name));
+            }
+        }
+        String[] columns = reader.getColumns();
+        int[] bindIndex = new int[columns.length];
+        StringBuilder sql = new StringBuilder("INSERT INTO `").append(table).append("` (");
+        int bound = 0;
+        for (int i = 0; i < columns.length; i++) {
+            if (!existing.contains(columns[i])) {
+                bindIndex[i] = 0;
+                continue;
+            }
+            bindIndex[i] = ++bound;
+            if (bound > 1) sql.append(", ");
+            sql.append('`').append(columns[i]).append('`');
+        }
+        if (bound == 0) return 0;
+        sql.append(") VALUES (?");
+        for (int i = 1; i < bound; i++) {
+            sql.append(", ?");
+        }
+        sql.append(')');
+
+        long rows = 0;
+        try (SupportSQLiteStatement insert = db.compileStatement(sql.toString())) {
+            while (reader.nextRow()) {
+                for (int i = 0; i < columns.length; i++) {
+                    int index = bindIndex[i];
+                    if (index == 0) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    switch (reader.peekType()) {
+                        case SnapshotFormat.TYPE_NULL: reader.skipValue(); insert.bindNull(index); break;
+                        case SnapshotFormat.TYPE_INTEGER: insert.bindLong(index, reader.getLong()); break;
+                        case SnapshotFormat.TYPE_REAL: insert.bindDouble(index, reader.getDouble()); break;
+                        case SnapshotFormat.TYPE_BLOB: insert.bindBlob(index, reader.getBlob()); break;
+                        default: insert.bindString(index, reader.getText());
+                    }
+                }
+                insert.executeInsert();
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sets the AUTOINCREMENT counter of {@code table} to the highest id in {@code idTables} unless
+     * it is already higher. The counters are not in the snapshot, and the inserts only raise them
+     * to the highest restored id of the table itself.
+     */
+    private static void raiseSequence(SupportSQLiteDatabase db, String table, String... idTables) {
+        StringBuilder sql = new StringBuilder("SELECT MAX(seq) FROM (SELECT seq FROM sqlite_sequence WHERE name = ?");
+        for (String idTable : idTables) {
+            sql.append(" UNION ALL SELECT MAX(id) FROM `").append(idTable).append('`');
+        }
+        sql.append(')');
+        long seq;
+        try (Cursor cursor = db.query(sql.toString(), new Object[]{table})) {
+            seq = cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+        db.execSQL("DELETE FROM sqlite_sequence WHERE name = ?", new Object[]{table});
+        db.execSQL("INSERT INTO sqlite_sequence (name, seq) VALUES (?, ?)", new Object[]{table, seq});
+    }
+
+    private interface TransactionBody {
+        long run() throws IOException;
+    }
+
+    // Room's transaction, so observers are invalidated once at the end; IOExceptions pass through
+    private static long inTransaction(AppDatabase database, TransactionBody body) throws IOException {
+        try {
+            return database.runInTransaction(() -> {
+                try {
+                    return body.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.backup;
+
+/**
+ * Layout of a binary database snapshot. Fixed-width numbers are big-endian.
+ *
+ * <pre>
+ * header   int MAGIC, int format version, int schema version, long creation time
+ * table    byte TABLE, text name, varint column count, text per column name,
+ *          then per row a varint byte length and one value per column,
+ *          ended by a zero row length
+ * trailer  byte END, int CRC32 of every byte before it
+ * </pre>
+ *
+ * A value is a type byte followed by its data: nothing for NULL, a zigzag varint for INTEGER,
+ * 8 bytes for REAL, and a varint byte length then the bytes for TEXT (UTF-8) and BLOB. The type
+ * codes match {@code Cursor.FIELD_TYPE_*}. Tables and columns are named, so a snapshot taken
+ * before a schema change still restores, and the row lengths let a reader skip whole rows.
+ */
+public final class SnapshotFormat {
+    public static final int MAGIC = 0x544D534E; // "TMSN"
+    public static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+    static final int TRAILER_SIZE = 1 + 4;
+
+    static final byte TABLE = 1;
+    static final byte END = 0;
+
+    public static final int TYPE_NULL = 0;
+    public static final int TYPE_INTEGER = 1;
+    public static final int TYPE_REAL = 2;
+    public static final int TYPE_TEXT = 3;
+    public static final int TYPE_BLOB = 4;
+
+    private SnapshotFormat() {
+    }
+}
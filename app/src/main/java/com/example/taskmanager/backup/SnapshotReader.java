@@ -0,0 +1,228 @@
+package com.example.taskmanager.backup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a {@link SnapshotFormat} file from a buffer, normally a memory-mapped one. The checksum
+ * and header are verified in the constructor, before any value is handed out. Tables and rows
+ * are then walked in place: text and blobs are the only values copied out of the buffer.
+ */
+public final class SnapshotReader {
+    private static final int CRC_CHUNK = 64 * 1024;
+
+    private final ByteBuffer in;
+    private final int dataEnd;
+    private final int schemaVersion;
+    private final long createdAt;
+    private String tableName;
+    private String[] columns;
+    // End of the current row, or -1 between rows
+    private int rowEnd = -1;
+    private boolean tableDone = true;
+    private byte[] scratch = new byte[256];
+
+    public SnapshotReader(ByteBuffer buffer) throws IOException {
+        in = buffer.duplicate();
+        in.position(0);
+        int size = in.limit();
+        if (size < SnapshotFormat.HEADER_SIZE + SnapshotFormat.TRAILER_SIZE) throw corrupt("file too short");
+        if (in.getInt(0) != SnapshotFormat.MAGIC) throw corrupt("not a snapshot");
+        int version = in.getInt(4);
+        if (version > SnapshotFormat.VERSION) throw new IOException("Snapshot format " + version + " is newer than this app");
+        // The trailer checksum covers everything up to and including the END byte
+        dataEnd = size - SnapshotFormat.TRAILER_SIZE;
+        if (in.get(dataEnd) != SnapshotFormat.END) throw corrupt("missing end marker");
+        if ((int) checksum(in, dataEnd + 1) != in.getInt(dataEnd + 1)) throw corrupt("checksum mismatch");
+        schemaVersion = in.getInt(8);
+        createdAt = in.getLong(12);
+        in.position(SnapshotFormat.HEADER_SIZE);
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /** Moves to the next table, skipping whatever is left of the current one; false at the end. */
+    public boolean nextTable() throws IOException {
+        while (!tableDone) {
+            nextRow();
+        }
+        byte marker = in.get();
+        if (marker == SnapshotFormat.END) return false;
+        if (marker != SnapshotFormat.TABLE) throw corrupt("bad table marker " + marker);
+        tableName = readText();
+        int count = readLength();
+        if (count == 0) throw corrupt("table " + tableName + " has no columns");
+        columns = new String[count];
+        for (int i = 0; i < count; i++) {
+            columns[i] = readText();
+        }
+        tableDone = false;
+        return true;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * Moves to the next row of the current table, skipping any values left unread in the current
+     * one; false once the table has no more rows. Each row holds one value per column, in order.
+     */
+    public boolean nextRow() throws IOException {
+        if (tableDone) return false;
+        if (rowEnd >= 0) in.position(rowEnd);
+        int length = readLength();
+        if (length == 0) {
+            rowEnd = -1;
+            tableDone = true;
+            return false;
+        }
+        if (length > dataEnd - in.position()) throw corrupt("row overruns the file");
+        rowEnd = in.position() + length;
+        return true;
+    }
+
+    /** Type of the next value, one of the {@code SnapshotFormat.TYPE_*} codes. */
+    public int peekType() throws IOException {
+        checkInRow(1);
+        return in.get(in.position());
+    }
+
+    public long getLong() throws IOException {
+        expectType(readType(), SnapshotFormat.TYPE_INTEGER);
+        long zigzag = readVarint();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public double getDouble() throws IOException {
+        expectType(readType(), SnapshotFormat.TYPE_REAL);
+        checkInRow(8);
+        return in.getDouble();
+    }
+
+    /** Text value, or null for a NULL value. */
+    public String getText() throws IOException {
+        int type = readType();
+        if (type == SnapshotFormat.TYPE_NULL) return null;
+        expectType(type, SnapshotFormat.TYPE_TEXT);
+        return readText();
+    }
+
+    /** Blob value, or null for a NULL value. */
+    public byte[] getBlob() throws IOException {
+        int type = readType();
+        if (type == SnapshotFormat.TYPE_NULL) return null;
+        expectType(type, SnapshotFormat.TYPE_BLOB);
+        int length = readLength();
+        checkInRow(length);
+        byte[] value = new byte[length];
+        in.get(value);
+        return value;
+    }
+
+    public void skipValue() throws IOException {
+        int type = readType();
+        switch (type) {
+            case SnapshotFormat.TYPE_NULL:
+                return;
+            case SnapshotFormat.TYPE_INTEGER:
+                readVarint();
+                return;
+            case SnapshotFormat.TYPE_REAL:
+                checkInRow(8);
+                in.position(in.position() + 8);
+                return;
+            case SnapshotFormat.TYPE_TEXT:
+            case SnapshotFormat.TYPE_BLOB: {
+                int length = readLength();
+                checkInRow(length);
+                in.position(in.position() + length);
+                return;
+            }
+            default:
+                throw corrupt("unknown value type " + type);
+        }
+    }
+
+    private int readType() throws IOException {
+        checkInRow(1);
+        return in.get();
+    }
+
+    private void expectType(int actual, int expected) throws IOException {
+        if (actual != expected) throw corrupt("expected value type " + expected + " but found " + actual);
+    }
+
+    private String readText() throws IOException {
+        int length = readLength();
+        if (length > dataEnd - in.position()) throw corrupt("text overruns the file");
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > Integer.MAX_VALUE) throw corrupt("bad length " + length);
+        return (int) length;
+    }
+
+    private long readVarint() throws IOException {
+        if (in.position() >= dataEnd) throw corrupt("truncated number");
+        byte first = in.get();
+        // Lengths and most small numbers fit in one byte
+        if (first >= 0) return first;
+        in.position(in.position() - 1);
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (in.position() >= dataEnd) throw corrupt("truncated number");
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw corrupt("number too long");
+    }
+
+    private void checkInRow(int bytes) throws IOException {
+        if (rowEnd < 0 || bytes > rowEnd - in.position()) throw corrupt("value overruns its row");
+    }
+
+    private IOException corrupt(String reason) {
+        return new IOException("Corrupt snapshot at byte " + in.position() + ": " + reason);
+    }
+
+    // Heap buffers are checksummed in place; mapped ones through a small copy buffer
+    private static long checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        if (buffer.hasArray()) {
+            crc.update(buffer.array(), buffer.arrayOffset(), length);
+            return crc.getValue();
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.position(0).limit(length);
+        byte[] chunk = new byte[CRC_CHUNK];
+        while (view.hasRemaining()) {
+            int n = Math.min(chunk.length, view.remaining());
+            view.get(chunk, 0, n);
+            crc.update(chunk, 0, n);
+        }
+        return crc.getValue();
+    }
+}
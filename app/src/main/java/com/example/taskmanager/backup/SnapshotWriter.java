@@ -0,0 +1,249 @@
+package com.example.taskmanager.backup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a {@link SnapshotFormat} file to a channel. Each row is built in a scratch buffer so its
+ * length can precede it, then copied into a fixed output buffer that is checksummed and written
+ * whenever it fills. Memory use is one output buffer plus the largest row.
+ */
+public final class SnapshotWriter implements Closeable {
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final WritableByteChannel channel;
+    // Heap buffers, so the checksum can read the backing array
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer row = ByteBuffer.allocate(4096);
+    private final CRC32 crc = new CRC32();
+    // Columns of the open table, or -1 outside a table
+    private int columns = -1;
+    // Values put into the open row, or -1 outside a row
+    private int values = -1;
+    private long rows;
+    private boolean finished;
+
+    public SnapshotWriter(WritableByteChannel channel, int schemaVersion, long createdAt) {
+        this.channel = channel;
+        out.putInt(SnapshotFormat.MAGIC)
+                .putInt(SnapshotFormat.VERSION)
+                .putInt(schemaVersion)
+                .putLong(createdAt);
+    }
+
+    public void beginTable(String name, String[] columnNames) throws IOException {
+        if (columns >= 0) throw new IllegalStateException("Table " + name + " started inside another table");
+        if (columnNames.length == 0) throw new IllegalArgumentException("Table " + name + " has no columns");
+        row.clear();
+        row.put(SnapshotFormat.TABLE);
+        putTextData(name);
+        ensureRow(5);
+        putVarint(columnNames.length);
+        for (String column : columnNames) {
+            putTextData(column);
+        }
+        copyRow();
+        columns = columnNames.length;
+        rows = 0;
+    }
+
+    public void beginRow() {
+        if (columns < 0 || values >= 0) throw new IllegalStateException("No table open, or a row is already open");
+        row.clear();
+        values = 0;
+    }
+
+    public SnapshotWriter putNull() {
+        ensureRow(1);
+        row.put((byte) SnapshotFormat.TYPE_NULL);
+        values++;
+        return this;
+    }
+
+    public SnapshotWriter putLong(long value) {
+        ensureRow(11);
+        row.put((byte) SnapshotFormat.TYPE_INTEGER);
+        // Zigzag keeps small negative numbers short
+        putVarint((value << 1) ^ (value >> 63));
+        values++;
+        return this;
+    }
+
+    public SnapshotWriter putDouble(double value) {
+        ensureRow(9);
+        row.put((byte) SnapshotFormat.TYPE_REAL).putDouble(value);
+        values++;
+        return this;
+    }
+
+    public SnapshotWriter putText(String value) {
+        if (value == null) return putNull();
+        ensureRow(1);
+        row.put((byte) SnapshotFormat.TYPE_TEXT);
+        putTextData(value);
+        values++;
+        return this;
+    }
+
+    public SnapshotWriter putBlob(byte[] value) {
+        if (value == null) return putNull();
+        ensureRow(1 + 5 + value.length);
+        row.put((byte) SnapshotFormat.TYPE_BLOB);
+        putVarint(value.length);
+        row.put(value);
+        values++;
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        if (values != columns) {
+            throw new IllegalStateException("Row has " + values + " values for " + columns + " columns");
+        }
+        int length = row.position();
+        writeVarint(length);
+        copyRow();
+        values = -1;
+        rows++;
+    }
+
+    /** Closes the open table and returns the number of rows written to it. */
+    public long endTable() throws IOException {
+        if (columns < 0 || values >= 0) throw new IllegalStateException("No table open, or a row is still open");
+        writeVarint(0);
+        columns = -1;
+        return rows;
+    }
+
+    /** Writes the trailer and flushes. The channel stays open. */
+    public void finish() throws IOException {
+        if (finished) return;
+        if (columns >= 0) throw new IllegalStateException("A table is still open");
+        ensureOut(1);
+        out.put(SnapshotFormat.END);
+        flush();
+        ensureOut(4);
+        out.putInt((int) crc.getValue());
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    // Copies the scratch row to the output, writing it through in slices if it is the larger one
+    private void copyRow() throws IOException {
+        row.flip();
+        while (row.hasRemaining()) {
+            if (!out.hasRemaining()) flush();
+            int n = Math.min(row.remaining(), out.remaining());
+            out.put(row.array(), row.position(), n);
+            row.position(row.position() + n);
+        }
+    }
+
+    private void writeVarint(long value) throws IOException {
+        ensureOut(10);
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private void ensureOut(int bytes) throws IOException {
+        if (out.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        crc.update(out.array(), 0, out.position());
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    // Row-buffer writes; callers reserve room first
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            row.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        row.put((byte) value);
+    }
+
+    // UTF-8 like String.getBytes: unpaired surrogates become '?'
+    private void putTextData(String value) {
+        int length = value.length();
+        int ascii = 0;
+        while (ascii < length && value.charAt(ascii) < 0x80) {
+            ascii++;
+        }
+        int bytes = ascii == length ? length : ascii + utf8Length(value, ascii);
+        ensureRow(5 + bytes);
+        putVarint(bytes);
+        for (int i = 0; i < ascii; i++) {
+            row.put((byte) value.charAt(i));
+        }
+        for (int i = ascii; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                row.put((byte) c);
+            } else if (c < 0x800) {
+                row.put((byte) (0xC0 | (c >> 6))).put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int code = Character.toCodePoint(c, value.charAt(++i));
+                row.put((byte) (0xF0 | (code >> 18)))
+                        .put((byte) (0x80 | ((code >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((code >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (code & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                row.put((byte) '?');
+            } else {
+                row.put((byte) (0xE0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String value, int from) {
+        int length = value.length();
+        int bytes = length - from;
+        for (int i = from; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    private void ensureRow(int bytes) {
+        if (row.remaining() >= bytes) return;
+        int capacity = row.capacity();
+        while (capacity - row.position() < bytes) {
+            capacity *= 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        row.flip();
+        grown.put(row);
+        row = grown;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskmanager.backup;
+
+import android.app.backup.BackupAgent;
+import android.app.backup.BackupDataInput;
+import android.app.backup.BackupDataOutput;
+import android.app.backup.FullBackupDataOutput;
+import android.content.Context;
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+
+import com.example.taskmanager.data.AppDatabase;
+import com.example.taskmanager.data.TaskRepository;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Auto Backup hook. The backup rules leave the SQLite files out; instead a snapshot is written
+ * just before each full backup and is the only file backed up. After a restore it is loaded
+ * into the fresh database and deleted.
+ */
+public class TaskBackupAgent extends BackupAgent {
+    // Must match the paths in backup_rules.xml and data_extraction_rules.xml
+    static final String SNAPSHOT_DIR = "backup";
+    static final String SNAPSHOT_NAME = "tasks.snapshot";
+
+    static File snapshotFile(Context context) {
+        return new File(new File(context.getFilesDir(), SNAPSHOT_DIR), SNAPSHOT_NAME);
+    }
+
+    @Override
+    public void onFullBackup(FullBackupDataOutput data) throws IOException {
+        File snapshot = snapshotFile(this);
+        try {
+            long rows = SnapshotBackup.write(AppDatabase.getInstance(this), snapshot);
+            Log.i("BACKUP", "Snapshot of " + rows + " rows, " + snapshot.length() + " bytes");
+            super.onFullBackup(data);
+        } finally {
+            snapshot.delete();
+        }
+    }
+
+    @Override
+    public void onRestoreFinished() {
+        File snapshot = snapshotFile(this);
+        if (!snapshot.exists()) return;
+        try {
+            long rows = SnapshotBackup.restore(AppDatabase.getInstance(this), snapshot);
+            TaskRepository.getInstance(this).invalidateCache();
+            Log.i("BACKUP", "Restored " + rows + " rows from snapshot");
+        } catch (IOException | RuntimeException e) {
+            Log.e("BACKUP", "Snapshot restore failed: " + e.getMessage());
+        } finally {
+            snapshot.delete();
+        }
+    }
+
+    // Key/value backup is not used; the manifest sets fullBackupOnly
+    @Override
+    public void onBackup(ParcelFileDescriptor oldState, BackupDataOutput data, ParcelFileDescriptor newState) {
+    }
+
+    @Override
+    public void onRestore(BackupDataInput data, int appVersionCode, ParcelFileDescriptor newState) {
+    }
+}
@@ -3,29 +3,99 @@ package com.example.taskmanager.data;
 import android.content.Context;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
-@Database(entities = {Task.class}, version = 1, exportSchema = false)
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Database(entities = {Task.class, TaskFts.class, Subtask.class, Tag.class, TaskTag.class,
+        ArchivedTask.class, ArchivedTaskFts.class, ArchivedSubtask.class, ArchivedTaskTag.class},
+        version = 8, exportSchema = true)
 
 public abstract class AppDatabase extends RoomDatabase {
+    private static final String DATABASE_NAME = "task_database";
+    // Negative values are KiB rather than pages: roughly 8 MB of page cache
+    private static final int CACHE_SIZE_KIB = 8 * 1024;
+
     public abstract TaskDao taskDao();
 
-    private static AppDatabase INSTANCE;
+    public abstract SubtaskDao subtaskDao();
+
+    public abstract TagDao tagDao();
+
+    public abstract ArchiveDao archiveDao();
+
+    private static volatile AppDatabase INSTANCE;
+    // Claimed by the one open() call that times the first open, however many threads race it
+    private static final AtomicBoolean OPEN_TIMED = new AtomicBoolean();
 
     public static AppDatabase getInstance(Context context) {
-        if (INSTANCE == null) {
-            try {
-                INSTANCE = Room.databaseBuilder(
-                        context.getApplicationContext(),
-                        AppDatabase.class,
-                        "task_database"
-                ).allowMainThreadQueries().build();
-            } catch (Exception e) {
-                Log.e("DATABASE", "Database initialization failed: " + e.getMessage());
-                throw new RuntimeException("Database initialization failed", e);
+        AppDatabase instance = INSTANCE;
+        if (instance == null) {
+            synchronized (AppDatabase.class) {
+                instance = INSTANCE;
+                if (instance == null) {
+                    instance = build(context.getApplicationContext());
+                    INSTANCE = instance;
+                }
             }
         }
-        return INSTANCE;
+        return instance;
+    }
+
+    /**
+     * Builds the database if needed and opens its connection on the calling thread. Called from
+     * the startup pipeline, so the first screen finds it ready instead of paying for the open
+     * (and any migration) on whichever thread touches it first.
+     */
+    @WorkerThread
+    public static AppDatabase open(Context context) {
+        AppDatabase database = getInstance(context);
+        if (!OPEN_TIMED.compareAndSet(false, true)) {
+            database.getOpenHelper().getWritableDatabase();
+            return database;
+        }
+        long start = System.nanoTime();
+        database.getOpenHelper().getWritableDatabase();
+        DatabaseOpenMetrics.recordOpen(System.nanoTime() - start, Thread.currentThread().getName());
+        Log.i("DATABASE", "Database build " + DatabaseOpenMetrics.getBuildMillis()
+                + " ms, open " + DatabaseOpenMetrics.getOpenMillis() + " ms");
+        return database;
+    }
+
+    private static AppDatabase build(Context appContext) {
+        try {
+            long start = System.nanoTime();
+            AppDatabase database = Room.databaseBuilder(
+                    appContext,
+                    AppDatabase.class,
+                    DATABASE_NAME
+            ).addMigrations(Migrations.ALL)
+                    .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(DatabaseExecutors.io())
+                    .setTransactionExecutor(DatabaseExecutors.write())
+                    .addCallback(new PragmaCallback())
+                    .build();
+            DatabaseOpenMetrics.recordBuild(System.nanoTime() - start);
+            return database;
+        } catch (Exception e) {
+            Log.e("DATABASE", "Database initialization failed: " + e.getMessage());
+            throw new RuntimeException("Database initialization failed", e);
+        }
+    }
+
+    /** Connection tuning applied each time the primary (write) connection is opened. */
+    private static class PragmaCallback extends RoomDatabase.Callback {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            // WAL makes NORMAL durable across app crashes; only a power loss can drop the last commits
+            db.query("PRAGMA synchronous = NORMAL").close();
+            db.query("PRAGMA cache_size = -" + CACHE_SIZE_KIB).close();
+            db.query("PRAGMA temp_store = MEMORY").close();
+        }
     }
 }
@@ -0,0 +1,124 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves completed tasks between the live {@code tasks} table and the cold {@code archived_tasks}
+ * table. The list, reminders and their indexes only ever see the live table, so the archive can
+ * grow without slowing them down.
+ */
+@Dao
+public interface ArchiveDao {
+    // One scan for the whole pass; no index on purpose, since archiving keeps the live table
+    // small and every task write would pay for one
+    @Query("SELECT id FROM tasks WHERE completed = 1 AND completedAt < :cutoff")
+    List<Integer> findArchivable(long cutoff);
+
+    // Primary key lookups, dropping rows reopened since the pass found them
+    @Query("SELECT id FROM tasks WHERE id IN (:taskIds) AND completed = 1 AND completedAt < :cutoff")
+    List<Integer> stillArchivable(int[] taskIds, long cutoff);
+
+    @Query("INSERT INTO archived_tasks (id, title, description, dueDate, recurrenceRule, completedAt, archivedAt) "
+            + "SELECT id, title, description, dueDate, recurrenceRule, completedAt, :archivedAt FROM tasks "
+            + "WHERE id IN (:taskIds)")
+    void copyToArchive(int[] taskIds, long archivedAt);
+
+    @Query("INSERT INTO archived_subtasks (id, taskId, title, done, position) "
+            + "SELECT id, taskId, title, done, position FROM subtasks WHERE taskId IN (:taskIds)")
+    void copySubtasksToArchive(int[] taskIds);
+
+    @Query("INSERT INTO archived_task_tags (taskId, tagId) SELECT taskId, tagId FROM task_tags "
+            + "WHERE taskId IN (:taskIds)")
+    void copyTagsToArchive(int[] taskIds);
+
+    // Subtasks and tag links cascade once copied; the FTS triggers drop the rows from tasks_fts
+    @Query("DELETE FROM tasks WHERE id IN (:taskIds)")
+    int deleteLive(int[] taskIds);
+
+    /**
+     * Moves one chunk of the ids {@link #findArchivable} returned into the archive, with their
+     * checklists and tag links, in one transaction and returns how many moved. Callers keep
+     * chunks small so readers get in between them instead of waiting for the whole move.
+     */
+    @Transaction
+    default int archiveChunk(int[] candidates, long cutoff, long archivedAt) {
+        List<Integer> found = stillArchivable(candidates, cutoff);
+        if (found.isEmpty()) return 0;
+        int[] taskIds = new int[found.size()];
+        for (int i = 0; i < taskIds.length; i++) {
+            taskIds[i] = found.get(i);
+        }
+        copyToArchive(taskIds, archivedAt);
+        copySubtasksToArchive(taskIds);
+        copyTagsToArchive(taskIds);
+        return deleteLive(taskIds);
+    }
+
+    @Query("INSERT INTO tasks (id, title, description, dueDate, recurrenceRule, completed, completedAt) "
+            + "SELECT id, title, description, dueDate, recurrenceRule, 1, :completedAt FROM archived_tasks "
+            + "WHERE id = :taskId")
+    void copyToLive(int taskId, long completedAt);
+
+    @Query("INSERT INTO subtasks (id, taskId, title, done, position) "
+            + "SELECT id, taskId, title, done, position FROM archived_subtasks WHERE taskId = :taskId")
+    void copySubtasksToLive(int taskId);
+
+    @Query("INSERT INTO task_tags (taskId, tagId) SELECT taskId, tagId FROM archived_task_tags "
+            + "WHERE taskId = :taskId")
+    void copyTagsToLive(int taskId);
+
+    // Same as TaskDao.refreshTagMask; tag bits may have been reassigned while the task was archived
+    @Query("UPDATE tasks SET tagMask = (SELECT COALESCE(SUM(1 << tags.bit), 0) FROM task_tags "
+            + "JOIN tags ON tags.id = task_tags.tagId WHERE task_tags.taskId = tasks.id) WHERE id = :taskId")
+    void refreshTagMask(int taskId);
+
+    // Its checklist and tag links cascade
+    @Query("DELETE FROM archived_tasks WHERE id = :taskId")
+    int deleteArchived(int taskId);
+
+    /**
+     * Moves an archived task back into the live table with its checklist and tags, still
+     * completed. Its completion time is reset to {@code now} so the next archive pass doesn't
+     * take it straight back.
+     */
+    @Transaction
+    default boolean restore(int taskId, long now) {
+        copyToLive(taskId, now);
+        copySubtasksToLive(taskId);
+        copyTagsToLive(taskId);
+        refreshTagMask(taskId);
+        return deleteArchived(taskId) > 0;
+    }
+
+    @Query("SELECT COUNT(*) FROM archived_tasks")
+    int count();
+
+    @Query("SELECT archived_tasks.id, archived_tasks.dueDate, 0 AS tagMask, "
+            + "matchinfo(archived_tasks_fts, 'pcx') AS matchInfo FROM archived_tasks "
+            + "JOIN archived_tasks_fts ON archived_tasks.id = archived_tasks_fts.rowid "
+            + "WHERE archived_tasks_fts MATCH :match LIMIT :candidates")
+    List<TaskSearchMatch> searchMatches(String match, int candidates);
+
+    @Query("SELECT id, title, dueDate, recurrenceRule, 0 AS tagMask, 0 AS subtaskCount, 0 AS subtasksDone, "
+            + "1 AS completed FROM archived_tasks WHERE id IN (:taskIds)")
+    List<TaskListItem> getListItems(int[] taskIds);
+
+    /** Full-text search over the archive, ranked like {@link TaskDao#search}; hits are marked archived. */
+    @Transaction
+    default List<TaskListItem> search(String query, int limit) {
+        String match = FtsSearch.prefixQuery(query);
+        if (match == null) return Collections.emptyList();
+        int[] ranked = FtsSearch.rank(searchMatches(match, FtsSearch.candidates(limit)), limit);
+        if (ranked.length == 0) return Collections.emptyList();
+        List<TaskListItem> results = FtsSearch.inRankOrder(ranked, getListItems(ranked));
+        for (TaskListItem item : results) {
+            item.setArchived(true);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A checklist item of an {@link ArchivedTask}, kept under its original id so a restored task
+ * gets its checklist back unchanged. Removed with the archived task.
+ */
+@Entity(tableName = "archived_subtasks",
+        foreignKeys = @ForeignKey(entity = ArchivedTask.class, parentColumns = "id", childColumns = "taskId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index(value = {"taskId"})})
+public class ArchivedSubtask {
+    @PrimaryKey
+    private int id;
+
+    private int taskId;
+    private String title;
+    private boolean done;
+    private int position;
+
+    public int getId() {
+        return id;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * A completed task moved out of {@code tasks}. It keeps its original id, which {@code tasks}
+ * never hands out again, so a restored task comes back under the same id. Its checklist and tag
+ * links move with it into {@link ArchivedSubtask} and {@link ArchivedTaskTag}.
+ */
+@Entity(tableName = "archived_tasks")
+public class ArchivedTask {
+    @PrimaryKey
+    private int id;
+
+    private String title;
+    private String description;
+    private long dueDate;
+    private String recurrenceRule;
+    private long completedAt;
+    private long archivedAt;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public long getDueDate() {
+        return dueDate;
+    }
+
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public long getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setDueDate(long dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    public void setCompletedAt(long completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public void setArchivedAt(long archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
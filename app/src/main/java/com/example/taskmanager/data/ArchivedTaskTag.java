@@ -0,0 +1,32 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/** Tag link of an {@link ArchivedTask}; removed with the archived task or the tag. */
+@Entity(tableName = "archived_task_tags",
+        primaryKeys = {"taskId", "tagId"},
+        foreignKeys = {
+                @ForeignKey(entity = ArchivedTask.class, parentColumns = "id", childColumns = "taskId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = Tag.class, parentColumns = "id", childColumns = "tagId",
+                        onDelete = ForeignKey.CASCADE)},
+        indices = {@Index(value = {"tagId"})})
+public class ArchivedTaskTag {
+    private int taskId;
+    private int tagId;
+
+    public ArchivedTaskTag(int taskId, int tagId) {
+        this.taskId = taskId;
+        this.tagId = tagId;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public int getTagId() {
+        return tagId;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.taskmanager.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide executors for database work. Reads share a small bounded pool and writes
+ * go through a single thread, so writes are applied in submission order and never race.
+ */
+public final class DatabaseExecutors {
+    private static final int IO_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final ExecutorService IO = createIoExecutor();
+    private static final ExecutorService WRITE =
+            Executors.newSingleThreadExecutor(new NamedThreadFactory("task-db-write"));
+    private static final ExecutorService TRANSFER =
+            Executors.newSingleThreadExecutor(new NamedThreadFactory("task-transfer"));
+
+    private DatabaseExecutors() {
+    }
+
+    /** Bounded pool for queries, also used by Room for LiveData and paging loads. */
+    public static ExecutorService io() {
+        return IO;
+    }
+
+    /** Single thread that serializes every write. */
+    public static ExecutorService write() {
+        return WRITE;
+    }
+
+    /**
+     * Single thread for long background jobs: imports, exports and the archive pass. Keeping them
+     * off the other two means they never hold a query thread; their writes go to {@link #write()}
+     * one page or chunk at a time.
+     */
+    public static ExecutorService transfer() {
+        return TRANSFER;
+    }
+
+    private static ExecutorService createIoExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                IO_THREADS, IO_THREADS,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("task-db-io"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanager.data;
+
+/**
+ * Timings for the first build and open of {@link AppDatabase}. Values are -1 until recorded.
+ * The open time covers creating the connection, running migrations and schema validation.
+ */
+public final class DatabaseOpenMetrics {
+    private static volatile long buildNanos = -1;
+    private static volatile long openNanos = -1;
+    private static volatile String openThread;
+
+    private DatabaseOpenMetrics() {
+    }
+
+    static void recordBuild(long nanos) {
+        buildNanos = nanos;
+    }
+
+    static void recordOpen(long nanos, String threadName) {
+        openNanos = nanos;
+        openThread = threadName;
+    }
+
+    /** Time spent in {@code Room.databaseBuilder(...).build()}, in milliseconds. */
+    public static double getBuildMillis() {
+        long nanos = buildNanos;
+        return nanos < 0 ? -1 : nanos / 1_000_000.0;
+    }
+
+    /** Time spent opening the underlying SQLite database for the first time, in milliseconds. */
+    public static double getOpenMillis() {
+        long nanos = openNanos;
+        return nanos < 0 ? -1 : nanos / 1_000_000.0;
+    }
+
+    /** Name of the thread that opened the database, or null if it has not been opened yet. */
+    public static String getOpenThread() {
+        return openThread;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.taskmanager.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query building and ranking for {@link TaskFts}. Kept free of Android types so it can be
+ * exercised directly from JVM tests.
+ */
+public final class FtsSearch {
+    // Column order matches TaskFts: title, description
+    private static final double[] COLUMN_WEIGHTS = {2.0, 1.0};
+
+    /**
+     * Most hits read from the index for ranking. A one-letter prefix can match most of the table,
+     * so ranking works on the first hits in rowid order rather than on every one of them.
+     */
+    public static final int MAX_CANDIDATES = 2000;
+
+    private FtsSearch() {
+    }
+
+    /**
+     * Turns free text into an FTS MATCH expression where every word is a prefix term, e.g.
+     * {@code "buy Milk!"} becomes {@code "buy* milk*"}. Returns null when there is nothing to match.
+     * Only letters and digits survive, so user input can never inject FTS operators. Only ASCII
+     * letters are lowercased: the {@code simple} tokenizer folds nothing else, so other letters
+     * must reach the index exactly as typed.
+     */
+    public static String prefixQuery(String rawQuery) {
+        if (rawQuery == null) return null;
+        StringBuilder query = new StringBuilder();
+        int length = rawQuery.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(rawQuery.charAt(i))) i++;
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(rawQuery.charAt(i))) i++;
+            if (i > start) {
+                if (query.length() > 0) query.append(' ');
+                for (int j = start; j < i; j++) {
+                    char c = rawQuery.charAt(j);
+                    query.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+                }
+                query.append('*');
+            }
+        }
+        return query.length() == 0 ? null : query.toString();
+    }
+
+    /** Candidate bound for a search that keeps at most {@code limit} results. */
+    public static int candidates(int limit) {
+        return Math.max(limit, MAX_CANDIDATES);
+    }
+
+    /**
+     * Scores one row from its {@code matchinfo 'pcx'} blob: for every phrase and column, the
+     * row's hit count relative to the hits across all rows, weighted so title hits rank first.
+     */
+    public static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) return 0;
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns; column++) {
+                int offset = 4 * (2 + 3 * (phrase * columns + column));
+                if (offset + 8 > matchInfo.length) return score;
+                int hitsInRow = buffer.getInt(offset);
+                int hitsInAllRows = buffer.getInt(offset + 4);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                    score += weight * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+
+    /** Ids of the hits ordered by {@link #score}, earlier due dates first among equals, at most {@code limit}. */
+    public static int[] rank(List<TaskSearchMatch> matches, int limit) {
+        int size = matches.size();
+        double[] scores = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(matches.get(i).matchInfo);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> -scores[i])
+                .thenComparingLong(i -> matches.get(i).dueDate));
+
+        int[] ids = new int[Math.min(size, limit)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = matches.get(order[i]).id;
+        }
+        return ids;
+    }
+
+    /** Puts rows loaded by id back into the order of {@code rankedIds}; ids with no row are skipped. */
+    public static List<TaskListItem> inRankOrder(int[] rankedIds, List<TaskListItem> items) {
+        Map<Integer, TaskListItem> byId = new HashMap<>(items.size() * 2);
+        for (TaskListItem item : items) {
+            byId.put(item.getId(), item);
+        }
+        List<TaskListItem> results = new ArrayList<>(rankedIds.length);
+        for (int id : rankedIds) {
+            TaskListItem item = byId.get(id);
+            if (item != null) results.add(item);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.taskmanager.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Schema migrations for {@link AppDatabase}. Every version bump gets a step here so
+ * existing installs are upgraded in place instead of being wiped.
+ */
+public final class Migrations {
+
+    // v2: index backing ORDER BY dueDate, id in the task list queries
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_dueDate_id` ON `tasks` (`dueDate`, `id`)");
+        }
+    };
+
+    // v3: external-content FTS4 table over title/description, plus the triggers Room would create
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `tasks_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, content=`tasks`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `tasks` BEGIN DELETE FROM `tasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `tasks` BEGIN DELETE FROM `tasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `tasks` BEGIN INSERT INTO `tasks_fts`(`docid`, `title`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `tasks` BEGIN INSERT INTO `tasks_fts`(`docid`, `title`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+            // Index the rows that already exist
+            db.execSQL("INSERT INTO `tasks_fts`(`tasks_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    // v4: recurrence rule; occurrences are expanded in memory, never stored as rows
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `recurrenceRule` TEXT");
+        }
+    };
+
+    // v5: checklist items, removed together with their task
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `subtasks` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`taskId` INTEGER NOT NULL, `title` TEXT, `done` INTEGER NOT NULL, `position` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`taskId`) REFERENCES `tasks`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_subtasks_taskId_done` ON `subtasks` (`taskId`, `done`)");
+        }
+    };
+
+    // v6: tags, the task_tags join table and the per-task tag bitmask derived from it
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `tags` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`name` TEXT NOT NULL, `bit` INTEGER NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_tags_name` ON `tags` (`name`)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_tags_bit` ON `tags` (`bit`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `task_tags` (`taskId` INTEGER NOT NULL, `tagId` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`taskId`, `tagId`), "
+                    + "FOREIGN KEY(`taskId`) REFERENCES `tasks`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`tagId`) REFERENCES `tags`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_task_tags_tagId` ON `task_tags` (`tagId`)");
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `tagMask` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    // v7: completion state, plus the cold archive table and its FTS index with Room's sync triggers
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `completed` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `completedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `archived_tasks` (`id` INTEGER NOT NULL, `title` TEXT, "
+                    + "`description` TEXT, `dueDate` INTEGER NOT NULL, `recurrenceRule` TEXT, "
+                    + "`completedAt` INTEGER NOT NULL, `archivedAt` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `archived_tasks_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, content=`archived_tasks`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_archived_tasks_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `archived_tasks` BEGIN DELETE FROM `archived_tasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_archived_tasks_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `archived_tasks` BEGIN DELETE FROM `archived_tasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_archived_tasks_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `archived_tasks` BEGIN INSERT INTO `archived_tasks_fts`(`docid`, `title`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_archived_tasks_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `archived_tasks` BEGIN INSERT INTO `archived_tasks_fts`(`docid`, `title`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+        }
+    };
+
+    // v8: archived tasks keep their checklist and tag links, so restoring brings them back
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `archived_subtasks` (`id` INTEGER NOT NULL, "
+                    + "`taskId` INTEGER NOT NULL, `title` TEXT, `done` INTEGER NOT NULL, `position` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`), "
+                    + "FOREIGN KEY(`taskId`) REFERENCES `archived_tasks`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_subtasks_taskId` ON `archived_subtasks` (`taskId`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `archived_task_tags` (`taskId` INTEGER NOT NULL, "
+                    + "`tagId` INTEGER NOT NULL, PRIMARY KEY(`taskId`, `tagId`), "
+                    + "FOREIGN KEY(`taskId`) REFERENCES `archived_tasks`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`tagId`) REFERENCES `tags`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_task_tags_tagId` ON `archived_task_tags` (`tagId`)");
+        }
+    };
+
+    public static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8
+    };
+
+    private Migrations() {
+    }
+}
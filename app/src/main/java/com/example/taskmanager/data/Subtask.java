@@ -0,0 +1,84 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.Objects;
+
+/**
+ * One checklist item under a {@link Task}. Deleting the task deletes its subtasks. The
+ * (taskId, done) index serves the foreign key, the per-task load and both progress counts.
+ */
+@Entity(tableName = "subtasks",
+        foreignKeys = @ForeignKey(entity = Task.class, parentColumns = "id", childColumns = "taskId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index(value = {"taskId", "done"})})
+public class Subtask {
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+
+    private int taskId;
+    private String title;
+    private boolean done;
+    // Display order within the task's checklist
+    private int position;
+
+    public int getId() {
+        return id;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Subtask)) return false;
+        Subtask other = (Subtask) o;
+        return id == other.id
+                && taskId == other.taskId
+                && done == other.done
+                && position == other.position
+                && Objects.equals(title, other.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, taskId, title, done, position);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.taskmanager.data;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.List;
+
+@Dao
+public interface SubtaskDao {
+    @Insert
+    long insert(Subtask subtask);
+
+    @Delete
+    void delete(Subtask subtask);
+
+    @Query("UPDATE subtasks SET done = :done WHERE id = :subtaskId")
+    void setDone(int subtaskId, boolean done);
+
+    @Query("SELECT COALESCE(MAX(position) + 1, 0) FROM subtasks WHERE taskId = :taskId")
+    int nextPosition(int taskId);
+
+    /** Appends an item to the end of the task's checklist and returns its id. */
+    @Transaction
+    default long append(int taskId, String title) {
+        Subtask subtask = new Subtask();
+        subtask.setTaskId(taskId);
+        subtask.setTitle(title);
+        subtask.setPosition(nextPosition(taskId));
+        return insert(subtask);
+    }
+
+    @Query("SELECT * FROM subtasks WHERE taskId = :taskId ORDER BY position ASC, id ASC")
+    LiveData<List<Subtask>> observeForTask(int taskId);
+}
@@ -0,0 +1,63 @@
+package com.example.taskmanager.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.Objects;
+
+/**
+ * A user-defined label. Each tag owns one bit of {@link Task#getTagMask()}, which is why there
+ * can be at most {@link TagFilter#MAX_TAGS} of them; {@link TaskTag} rows remain the source of truth.
+ */
+@Entity(tableName = "tags", indices = {
+        @Index(value = {"name"}, unique = true),
+        @Index(value = {"bit"}, unique = true)})
+public class Tag {
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+
+    @NonNull
+    private String name = "";
+    // Position in the per-task mask, 0..63
+    private int bit;
+
+    public int getId() {
+        return id;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    public void setBit(int bit) {
+        this.bit = bit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Tag)) return false;
+        Tag other = (Tag) o;
+        return id == other.id && bit == other.bit && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, bit);
+    }
+}
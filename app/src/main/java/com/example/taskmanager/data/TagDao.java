@@ -0,0 +1,62 @@
+package com.example.taskmanager.data;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.List;
+
+@Dao
+public interface TagDao {
+    @Query("SELECT * FROM tags ORDER BY name COLLATE NOCASE ASC")
+    LiveData<List<Tag>> observeAll();
+
+    @Query("SELECT * FROM tags WHERE name = :name COLLATE NOCASE")
+    Tag findByName(String name);
+
+    @Query("SELECT bit FROM tags ORDER BY bit ASC")
+    List<Integer> getUsedBits();
+
+    @Insert
+    long insert(Tag tag);
+
+    /**
+     * Returns the tag called {@code name}, creating it on the lowest free bit if needed.
+     *
+     * @throws IllegalStateException if all {@link TagFilter#MAX_TAGS} bits are taken
+     */
+    @Transaction
+    default Tag create(String name) {
+        Tag existing = findByName(name);
+        if (existing != null) return existing;
+
+        int bit = 0;
+        for (int used : getUsedBits()) {
+            if (used != bit) break;
+            bit++;
+        }
+        if (bit >= TagFilter.MAX_TAGS) {
+            throw new IllegalStateException("No more than " + TagFilter.MAX_TAGS + " tags are supported");
+        }
+        Tag tag = new Tag();
+        tag.setName(name);
+        tag.setBit(bit);
+        tag.setId((int) insert(tag));
+        return tag;
+    }
+
+    @Query("UPDATE tasks SET tagMask = tagMask & ~:bitMask WHERE (tagMask & :bitMask) != 0")
+    void clearMaskBit(long bitMask);
+
+    @Query("DELETE FROM tags WHERE id = :tagId")
+    void deleteById(int tagId);
+
+    /** Deletes the tag; its join rows cascade and its bit is cleared from every task that had it. */
+    @Transaction
+    default void delete(Tag tag) {
+        clearMaskBit(TagFilter.bit(tag.getBit()));
+        deleteById(tag.getId());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.taskmanager.data;
+
+/**
+ * Selects tasks by their tag bitmask. Matching is a single AND and compare per task, the same
+ * expression the paged list evaluates in SQL, so neither side joins through {@code task_tags}.
+ */
+public final class TagFilter {
+    public static final int MAX_TAGS = Long.SIZE;
+    public static final TagFilter NONE = new TagFilter(0, true);
+
+    private final long mask;
+    private final boolean matchAll;
+
+    private TagFilter(long mask, boolean matchAll) {
+        this.mask = mask;
+        this.matchAll = matchAll;
+    }
+
+    /** Tasks carrying every tag in {@code mask}. */
+    public static TagFilter all(long mask) {
+        return mask == 0 ? NONE : new TagFilter(mask, true);
+    }
+
+    /** Tasks carrying at least one tag in {@code mask}. */
+    public static TagFilter any(long mask) {
+        return mask == 0 ? NONE : new TagFilter(mask, false);
+    }
+
+    public static long bit(int bit) {
+        if (bit < 0 || bit >= MAX_TAGS) {
+            throw new IllegalArgumentException("Tag bit out of range: " + bit);
+        }
+        return 1L << bit;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public boolean isMatchAll() {
+        return matchAll;
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    public boolean matches(long tagMask) {
+        if (mask == 0) return true;
+        return matchAll ? (tagMask & mask) == mask : (tagMask & mask) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TagFilter)) return false;
+        TagFilter other = (TagFilter) o;
+        return mask == other.mask && matchAll == other.matchAll;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask) * 31 + (matchAll ? 1 : 0);
+    }
+}
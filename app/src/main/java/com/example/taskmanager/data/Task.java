@@ -1,9 +1,13 @@
 package com.example.taskmanager.data;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "tasks")
+import java.util.Objects;
+
+@Entity(tableName = "tasks", indices = {@Index(value = {"dueDate", "id"})})
 public class Task {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -11,6 +15,16 @@ public class Task {
     private String title;
     private String description;
     private long dueDate; // Store as timestamp
+    // RRULE-style text (see RecurrenceRule); null for one-off tasks. dueDate is the first occurrence
+    private String recurrenceRule;
+    // One bit per Tag, derived from task_tags so tag filters never need the join
+    @ColumnInfo(defaultValue = "0")
+    private long tagMask;
+    @ColumnInfo(defaultValue = "0")
+    private boolean completed;
+    // When it was marked complete; completed tasks move to the archive some days after this
+    @ColumnInfo(defaultValue = "0")
+    private long completedAt;
 
     public int getId() {
         return id;
@@ -28,6 +42,22 @@ public class Task {
         return dueDate;
     }
 
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
     // Setters
     public void setId(int id) {
         this.id = id;
@@ -45,6 +75,40 @@ public class Task {
         this.dueDate = dueDate;
     }
 
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
 
+    public void setTagMask(long tagMask) {
+        this.tagMask = tagMask;
+    }
 
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public void setCompletedAt(long completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    // Value equality so list diffing and change suppression compare contents, not instances
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Task)) return false;
+        Task other = (Task) o;
+        return id == other.id
+                && dueDate == other.dueDate
+                && tagMask == other.tagMask
+                && completed == other.completed
+                && completedAt == other.completedAt
+                && Objects.equals(title, other.title)
+                && Objects.equals(description, other.description)
+                && Objects.equals(recurrenceRule, other.recurrenceRule);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description, dueDate, recurrenceRule, tagMask, completed, completedAt);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.taskmanager.data;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Size-bounded, write-through cache of full {@link Task} rows keyed by id. Writes made through
+ * {@link TaskRepository} update it directly; reads fill it only if no write happened while the
+ * query was running, so a slow read can never overwrite a newer value.
+ */
+public class TaskCache {
+    private final LruCache<Integer, Task> tasks;
+    private long writeGeneration;
+
+    public TaskCache(int maxEntries) {
+        tasks = new LruCache<>(maxEntries);
+    }
+
+    @Nullable
+    public Task get(int taskId) {
+        return tasks.get(taskId);
+    }
+
+    /** Token to pass to {@link #putIfUnchanged} once the read it guards has finished. */
+    public synchronized long writeGeneration() {
+        return writeGeneration;
+    }
+
+    public synchronized void putIfUnchanged(Task task, long generation) {
+        if (task != null && generation == writeGeneration) {
+            tasks.put(task.getId(), task);
+        }
+    }
+
+    public synchronized void put(Task task) {
+        writeGeneration++;
+        tasks.put(task.getId(), task);
+    }
+
+    public synchronized void remove(int taskId) {
+        writeGeneration++;
+        tasks.remove(taskId);
+    }
+
+    public synchronized void removeAll(int[] taskIds) {
+        writeGeneration++;
+        for (int taskId : taskIds) {
+            tasks.remove(taskId);
+        }
+    }
+
+    /** Drops everything, for writes that may touch any number of cached rows. */
+    public synchronized void clear() {
+        writeGeneration++;
+        tasks.evictAll();
+    }
+
+    public int hitCount() {
+        return tasks.hitCount();
+    }
+
+    public int missCount() {
+        return tasks.missCount();
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+}
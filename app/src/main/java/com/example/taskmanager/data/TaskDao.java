@@ -1,18 +1,41 @@
 package com.example.taskmanager.data;
 
+import android.database.Cursor;
+
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 @Dao
 public interface TaskDao {
+    /**
+     * Columns of a {@link TaskListItem}. Checklist progress comes from two correlated counts on
+     * the subtasks (taskId, done) index, so a page of rows costs one query however many it holds.
+     */
+    String LIST_COLUMNS = "tasks.id, tasks.title, tasks.dueDate, tasks.recurrenceRule, tasks.tagMask, tasks.completed, "
+            + "(SELECT COUNT(*) FROM subtasks WHERE subtasks.taskId = tasks.id) AS subtaskCount, "
+            + "(SELECT COUNT(*) FROM subtasks WHERE subtasks.taskId = tasks.id AND subtasks.done = 1) AS subtasksDone";
+
+    /** Statement behind {@link #getTaskListPaged}; room-paging wraps it for pages and the count. */
+    String LIST_QUERY = "SELECT " + LIST_COLUMNS + " FROM tasks ORDER BY dueDate ASC, id ASC";
+
+    /** Statement behind {@link #getNextDueAfter}; shared so tests can check its query plan. */
+    String NEXT_DUE_QUERY =
+            "SELECT MIN(dueDate) FROM tasks WHERE dueDate > :after AND completed = 0 AND recurrenceRule IS NULL";
+
     @Insert
-    void insert(Task task);
+    long insert(Task task);
 
     @Update
     void update(Task task);
@@ -20,9 +43,182 @@ public interface TaskDao {
     @Delete
     void delete(Task task);
 
+    // Bulk writes: each call is one transaction, so one commit and one invalidation per batch
+
+    @Insert
+    long[] insertAll(List<Task> tasks);
+
+    @Update
+    int updateAll(List<Task> tasks);
+
+    /** Deletes the given ids and returns the number of rows removed. */
+    @Transaction
+    default int deleteByIds(int[] ids) {
+        // Chunked to stay under SQLite's bound-variable limit on older devices
+        int chunkSize = 900;
+        int deleted = 0;
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            deleted += deleteByIdsChunk(Arrays.copyOfRange(ids, from, Math.min(ids.length, from + chunkSize)));
+        }
+        return deleted;
+    }
+
+    /** Moves the given ids to {@code newDueDate} and returns the number of rows changed. */
+    @Transaction
+    default int rescheduleAll(int[] ids, long newDueDate) {
+        int chunkSize = 900;
+        int updated = 0;
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            updated += rescheduleChunk(Arrays.copyOfRange(ids, from, Math.min(ids.length, from + chunkSize)), newDueDate);
+        }
+        return updated;
+    }
+
+    @Query("DELETE FROM tasks WHERE id IN (:ids)")
+    int deleteByIdsChunk(int[] ids);
+
+    @Query("UPDATE tasks SET dueDate = :newDueDate WHERE id IN (:ids)")
+    int rescheduleChunk(int[] ids, long newDueDate);
+
     @Query("SELECT * FROM tasks ORDER BY dueDate ASC")
     LiveData<List<Task>> getAllTasks();
 
+    // Paged list rows; id breaks ties so page boundaries are stable
+    @Query(LIST_QUERY)
+    PagingSource<Integer, TaskListItem> getTaskListPaged();
+
+    // Tag filters walk the same index and test each row's mask, so a page needs no join and no sort
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE (tagMask & :mask) = :mask ORDER BY dueDate ASC, id ASC")
+    PagingSource<Integer, TaskListItem> getTaskListPagedWithAllTags(long mask);
+
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE (tagMask & :mask) != 0 ORDER BY dueDate ASC, id ASC")
+    PagingSource<Integer, TaskListItem> getTaskListPagedWithAnyTag(long mask);
+
+    // Same order as the paged list, so it reads exactly the rows the first page will need
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks ORDER BY dueDate ASC, id ASC LIMIT :limit")
+    List<TaskListItem> getFirstTasks(int limit);
+
     @Query("SELECT * FROM tasks WHERE id = :taskId")
     Task getTaskById(int taskId);
-}
\ No newline at end of file
+
+    // Room loads the subtasks of every returned task with one batched query in the same transaction
+    @Transaction
+    @Query("SELECT * FROM tasks WHERE id = :taskId")
+    TaskWithSubtasks getTaskWithSubtasks(int taskId);
+
+    @Transaction
+    @Query("SELECT * FROM tasks WHERE id IN (:taskIds) ORDER BY dueDate ASC, id ASC")
+    List<TaskWithSubtasks> getTasksWithSubtasks(int[] taskIds);
+
+    // Tag links. task_tags is the source of truth; tagMask is recomputed from it in the same transaction
+
+    @Query("DELETE FROM task_tags WHERE taskId = :taskId")
+    void clearTags(int taskId);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertTaskTags(List<TaskTag> links);
+
+    @Query("UPDATE tasks SET tagMask = (SELECT COALESCE(SUM(1 << tags.bit), 0) FROM task_tags "
+            + "JOIN tags ON tags.id = task_tags.tagId WHERE task_tags.taskId = tasks.id) WHERE id = :taskId")
+    void refreshTagMask(int taskId);
+
+    @Query("SELECT tagMask FROM tasks WHERE id = :taskId")
+    long getTagMask(int taskId);
+
+    /** Replaces the task's tags and returns its recomputed mask. */
+    @Transaction
+    default long setTags(int taskId, int[] tagIds) {
+        clearTags(taskId);
+        List<TaskTag> links = new ArrayList<>(tagIds.length);
+        for (int tagId : tagIds) {
+            links.add(new TaskTag(taskId, tagId));
+        }
+        insertTaskTags(links);
+        refreshTagMask(taskId);
+        return getTagMask(taskId);
+    }
+
+    /** Inserts the task with its tags in one transaction and returns the new id. */
+    @Transaction
+    default long insertWithTags(Task task, int[] tagIds) {
+        long id = insert(task);
+        task.setId((int) id);
+        task.setTagMask(setTags((int) id, tagIds));
+        return id;
+    }
+
+    @Transaction
+    default void updateWithTags(Task task, int[] tagIds) {
+        update(task);
+        task.setTagMask(setTags(task.getId(), tagIds));
+    }
+
+    // Reminder lookups for one-off tasks; all three are range scans on the (dueDate, id) index
+    // that skip completed and recurring rows
+    @Query(NEXT_DUE_QUERY)
+    Long getNextDueAfter(long after);
+
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE dueDate > :after AND dueDate <= :upTo AND completed = 0 "
+            + "AND recurrenceRule IS NULL ORDER BY dueDate ASC, id ASC LIMIT :limit")
+    List<TaskListItem> getDueBetween(long after, long upTo, int limit);
+
+    @Query("SELECT COUNT(*) FROM tasks WHERE dueDate > :after AND dueDate <= :upTo AND completed = 0 "
+            + "AND recurrenceRule IS NULL")
+    int countDueBetween(long after, long upTo);
+
+    // Recurring series for reminders, which expand their occurrences in memory
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE recurrenceRule IS NOT NULL AND completed = 0")
+    List<TaskListItem> getOpenRecurring();
+
+    // Re-queried by Room on every write to tasks; emits null once the row is deleted
+    @Query("SELECT * FROM tasks WHERE id = :taskId")
+    LiveData<Task> observeTaskById(int taskId);
+
+    // Export pages: keyset on the primary key, so each page is a short range scan and rows
+    // written between pages are neither skipped nor repeated
+    @Query("SELECT id, title, description, dueDate, recurrenceRule, completed, completedAt FROM tasks "
+            + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Cursor exportPage(int afterId, int limit);
+
+    @Query("SELECT COUNT(*) FROM tasks")
+    int count();
+
+    // Ranking input for at most :candidates hits that carry every tag in :allMask and, unless
+    // :anyMask is 0, one of :anyMask; no list columns and no subtask counts, however short the prefix
+    @Query("SELECT tasks.id, tasks.dueDate, tasks.tagMask, matchinfo(tasks_fts, 'pcx') AS matchInfo FROM tasks "
+            + "JOIN tasks_fts ON tasks.id = tasks_fts.rowid WHERE tasks_fts MATCH :match "
+            + "AND (tasks.tagMask & :allMask) = :allMask AND (:anyMask = 0 OR (tasks.tagMask & :anyMask) != 0) "
+            + "LIMIT :candidates")
+    List<TaskSearchMatch> searchMatches(String match, long allMask, long anyMask, int candidates);
+
+    // Rows of the hits that survive ranking, in no particular order
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE id IN (:taskIds)")
+    List<TaskListItem> getListItems(int[] taskIds);
+
+    /**
+     * Full-text search over title and description. Every word is treated as a prefix and all
+     * words must match; results are ranked with title hits first and capped at {@code limit}.
+     * Hits are ranked from the FTS index alone, and only the kept ones are loaded as list rows.
+     * At most {@link FtsSearch#candidates} hits are ranked, so a very common prefix is ranked
+     * over the first of its hits rather than over the whole table.
+     */
+    @Transaction
+    default List<TaskListItem> search(String query, int limit) {
+        return search(query, TagFilter.NONE, limit);
+    }
+
+    /** As {@link #search(String, int)}, keeping only hits that pass {@code tags}. */
+    @Transaction
+    default List<TaskListItem> search(String query, TagFilter tags, int limit) {
+        String match = FtsSearch.prefixQuery(query);
+        if (match == null) return Collections.emptyList();
+
+        // Tags are tested in SQL so the candidate bound counts only hits that pass them
+        long allMask = tags.isMatchAll() ? tags.getMask() : 0;
+        long anyMask = tags.isMatchAll() ? 0 : tags.getMask();
+        List<TaskSearchMatch> matches = searchMatches(match, allMask, anyMask, FtsSearch.candidates(limit));
+        int[] ranked = FtsSearch.rank(matches, limit);
+        if (ranked.length == 0) return Collections.emptyList();
+        return FtsSearch.inRankOrder(ranked, getListItems(ranked));
+    }
+}
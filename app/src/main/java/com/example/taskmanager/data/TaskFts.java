@@ -0,0 +1,45 @@
+package com.example.taskmanager.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.PrimaryKey;
+
+/**
+ * External-content FTS4 index over {@link Task} title and description. Room keeps it in sync
+ * with {@code tasks} through triggers, so it never stores a second copy of the text.
+ */
+@Fts4(contentEntity = Task.class)
+@Entity(tableName = "tasks_fts")
+public class TaskFts {
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private int rowId;
+
+    private String title;
+    private String description;
+
+    public int getRowId() {
+        return rowId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setRowId(int rowId) {
+        this.rowId = rowId;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
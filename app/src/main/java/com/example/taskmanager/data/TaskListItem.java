@@ -0,0 +1,117 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Ignore;
+
+import java.util.Objects;
+
+/**
+ * The columns the task list actually renders. List queries select only these so scrolling
+ * never pulls descriptions through the cursor window; the full {@link Task} is loaded on open.
+ */
+public class TaskListItem {
+    private int id;
+    private String title;
+    private long dueDate;
+    private String recurrenceRule;
+    // Checklist progress, counted by the list query itself
+    private int subtaskCount;
+    private int subtasksDone;
+    private long tagMask;
+    private boolean completed;
+    // Set on archive search hits, which have no live row to open
+    @Ignore
+    private boolean archived;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public long getDueDate() {
+        return dueDate;
+    }
+
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    public int getSubtaskCount() {
+        return subtaskCount;
+    }
+
+    public int getSubtasksDone() {
+        return subtasksDone;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDueDate(long dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    public void setSubtaskCount(int subtaskCount) {
+        this.subtaskCount = subtaskCount;
+    }
+
+    public void setSubtasksDone(int subtasksDone) {
+        this.subtasksDone = subtasksDone;
+    }
+
+    public void setTagMask(long tagMask) {
+        this.tagMask = tagMask;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskListItem)) return false;
+        TaskListItem other = (TaskListItem) o;
+        return id == other.id
+                && dueDate == other.dueDate
+                && subtaskCount == other.subtaskCount
+                && subtasksDone == other.subtasksDone
+                && tagMask == other.tagMask
+                && completed == other.completed
+                && archived == other.archived
+                && Objects.equals(title, other.title)
+                && Objects.equals(recurrenceRule, other.recurrenceRule);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, dueDate, recurrenceRule, subtaskCount, subtasksDone, tagMask, completed, archived);
+    }
+}
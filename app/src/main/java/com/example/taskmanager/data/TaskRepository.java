@@ -0,0 +1,463 @@
+package com.example.taskmanager.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.PagingSource;
+
+import com.example.taskmanager.recurrence.OccurrenceGenerator;
+import com.example.taskmanager.recurrence.RecurrenceRule;
+import com.example.taskmanager.transfer.TaskFormat;
+import com.example.taskmanager.transfer.TaskTransfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entry point for task data. All queries run on {@link DatabaseExecutors}, and results
+ * are delivered on the main thread only while the calling lifecycle is still alive.
+ */
+public class TaskRepository {
+
+    public interface Callback<T> {
+        void onComplete(@Nullable T result, @Nullable Exception error);
+    }
+
+    private static final int SEARCH_LIMIT = 200;
+    private static final int CACHE_SIZE = 200;
+    // Completed tasks stay in the live table this long before moving to the archive
+    public static final int ARCHIVE_AFTER_DAYS = 30;
+    private static final int ARCHIVE_CHUNK = 200;
+
+    private static volatile TaskRepository INSTANCE;
+
+    private final TaskDao taskDao;
+    private final SubtaskDao subtaskDao;
+    private final TagDao tagDao;
+    private final ArchiveDao archiveDao;
+    private final TaskCache taskCache = new TaskCache(CACHE_SIZE);
+    private final ExecutorService ioExecutor;
+    private final ExecutorService writeExecutor;
+    private final ExecutorService transferExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @VisibleForTesting
+    public TaskRepository(AppDatabase database, ExecutorService ioExecutor, ExecutorService writeExecutor) {
+        this.taskDao = database.taskDao();
+        this.subtaskDao = database.subtaskDao();
+        this.tagDao = database.tagDao();
+        this.archiveDao = database.archiveDao();
+        this.ioExecutor = ioExecutor;
+        this.writeExecutor = writeExecutor;
+        this.transferExecutor = DatabaseExecutors.transfer();
+    }
+
+    public static TaskRepository getInstance(Context context) {
+        TaskRepository instance = INSTANCE;
+        if (instance == null) {
+            synchronized (TaskRepository.class) {
+                instance = INSTANCE;
+                if (instance == null) {
+                    instance = new TaskRepository(AppDatabase.getInstance(context),
+                            DatabaseExecutors.io(), DatabaseExecutors.write());
+                    INSTANCE = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public PagingSource<Integer, TaskListItem> getTaskListPaged() {
+        return taskDao.getTaskListPaged();
+    }
+
+    /** The paged list restricted to {@code tags}; the filter is a mask test on each row. */
+    public PagingSource<Integer, TaskListItem> getTaskListPaged(TagFilter tags) {
+        if (tags.isEmpty()) return taskDao.getTaskListPaged();
+        return tags.isMatchAll()
+                ? taskDao.getTaskListPagedWithAllTags(tags.getMask())
+                : taskDao.getTaskListPagedWithAnyTag(tags.getMask());
+    }
+
+    /**
+     * Cached tasks skip the query; otherwise the row is read and cached. Either way the callback
+     * is posted to the main thread, never called from inside this method.
+     */
+    public void getTask(LifecycleOwner owner, int taskId, Callback<Task> callback) {
+        Task cached = taskCache.get(taskId);
+        if (cached != null) {
+            new Delivery<>(owner.getLifecycle(), callback, true).run(() -> cached);
+            return;
+        }
+        submit(ioExecutor, owner, () -> {
+            long generation = taskCache.writeGeneration();
+            Task task = taskDao.getTaskById(taskId);
+            taskCache.putIfUnchanged(task, generation);
+            return task;
+        }, callback, true);
+    }
+
+    /**
+     * Emits the task and then once per actual change to its row. Room re-runs the query after
+     * any write to the table and again whenever an observer restarts; equal results are
+     * suppressed. A cached copy is emitted first, so the first database result only goes
+     * through when it differs from the cache. Must be called on the main thread.
+     */
+    public LiveData<Task> observeTask(int taskId) {
+        MediatorLiveData<Task> seeded = new MediatorLiveData<>();
+        Task cached = taskCache.get(taskId);
+        if (cached != null) {
+            seeded.setValue(cached);
+        }
+        seeded.addSource(taskDao.observeTaskById(taskId), seeded::setValue);
+        return Transformations.distinctUntilChanged(seeded);
+    }
+
+    /** The task's checklist in display order; emits again only when it actually changes. */
+    public LiveData<List<Subtask>> observeSubtasks(int taskId) {
+        return Transformations.distinctUntilChanged(subtaskDao.observeForTask(taskId));
+    }
+
+    /** Loads the given tasks with their checklists; subtasks come from one batched query. */
+    public void getTasksWithSubtasks(LifecycleOwner owner, int[] taskIds, Callback<List<TaskWithSubtasks>> callback) {
+        submit(ioExecutor, owner, () -> taskDao.getTasksWithSubtasks(taskIds), callback, true);
+    }
+
+    public TaskCache getTaskCache() {
+        return taskCache;
+    }
+
+    /**
+     * Drops every cached task. For writes made outside this repository, such as a backup
+     * restore, which may have replaced any row.
+     */
+    public void invalidateCache() {
+        taskCache.clear();
+    }
+
+    public void search(LifecycleOwner owner, String query, Callback<List<TaskListItem>> callback) {
+        search(owner, query, TagFilter.NONE, callback);
+    }
+
+    public void search(LifecycleOwner owner, String query, TagFilter tags, Callback<List<TaskListItem>> callback) {
+        submit(ioExecutor, owner, () -> taskDao.search(query, tags, SEARCH_LIMIT), callback, true);
+    }
+
+    /** Searches archived tasks; only run when asked for, never as part of the normal search. */
+    public void searchArchive(LifecycleOwner owner, String query, Callback<List<TaskListItem>> callback) {
+        submit(ioExecutor, owner, () -> archiveDao.search(query, SEARCH_LIMIT), callback, true);
+    }
+
+    public LiveData<List<Tag>> observeTags() {
+        return tagDao.observeAll();
+    }
+
+    /** Delivers the tag named {@code name}, creating it if needed; fails once every tag bit is used. */
+    public void createTag(LifecycleOwner owner, String name, Callback<Tag> callback) {
+        submit(writeExecutor, owner, () -> tagDao.create(name), callback, false);
+    }
+
+    public void deleteTag(LifecycleOwner owner, Tag tag, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            tagDao.delete(tag);
+            // Masks of cached tasks may have changed
+            taskCache.clear();
+            return null;
+        }, callback, false);
+    }
+
+    public void insert(LifecycleOwner owner, Task task, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            task.setId((int) taskDao.insert(task));
+            taskCache.put(task);
+            return null;
+        }, callback, false);
+    }
+
+    /** Inserts the task and links it to {@code tagIds} in one transaction. */
+    public void insert(LifecycleOwner owner, Task task, int[] tagIds, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            taskDao.insertWithTags(task, tagIds);
+            taskCache.put(task);
+            return null;
+        }, callback, false);
+    }
+
+    /** Updates the task and replaces its tags with {@code tagIds} in one transaction. */
+    public void update(LifecycleOwner owner, Task task, int[] tagIds, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            taskDao.updateWithTags(task, tagIds);
+            taskCache.put(task);
+            return null;
+        }, callback, false);
+    }
+
+    public void update(LifecycleOwner owner, Task task, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            taskDao.update(task);
+            taskCache.put(task);
+            return null;
+        }, callback, false);
+    }
+
+    public void delete(LifecycleOwner owner, Task task, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            taskDao.delete(task);
+            taskCache.remove(task.getId());
+            return null;
+        }, callback, false);
+    }
+
+    public void addSubtask(LifecycleOwner owner, int taskId, String title, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            subtaskDao.append(taskId, title);
+            return null;
+        }, callback, false);
+    }
+
+    public void setSubtaskDone(LifecycleOwner owner, int subtaskId, boolean done, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            subtaskDao.setDone(subtaskId, done);
+            return null;
+        }, callback, false);
+    }
+
+    public void deleteSubtask(LifecycleOwner owner, Subtask subtask, Callback<Void> callback) {
+        submit(writeExecutor, owner, () -> {
+            subtaskDao.delete(subtask);
+            return null;
+        }, callback, false);
+    }
+
+    /**
+     * Marks the task complete or open again and delivers the updated row. Completing a recurring
+     * task that has occurrences left moves it to the next one instead, so it stays open.
+     */
+    public void setCompleted(LifecycleOwner owner, int taskId, boolean completed, Callback<Task> callback) {
+        submit(writeExecutor, owner, () -> {
+            // Changed on a fresh copy; the cached instance may be held by observers
+            Task task = taskDao.getTaskById(taskId);
+            if (task == null) return null;
+            if (!completed || !advanceRecurring(task)) {
+                task.setCompleted(completed);
+                task.setCompletedAt(completed ? System.currentTimeMillis() : 0);
+            }
+            taskDao.update(task);
+            taskCache.put(task);
+            return task;
+        }, callback, false);
+    }
+
+    // Moves a recurring task to its next occurrence; false once the series has ended
+    private static boolean advanceRecurring(Task task) {
+        OccurrenceGenerator occurrences = OccurrenceGenerator.get();
+        RecurrenceRule rule = occurrences.rule(task.getRecurrenceRule());
+        if (rule == null) return false;
+        long next = occurrences.nextAtOrAfter(rule, task.getDueDate(), task.getDueDate() + 1);
+        if (next < 0) return false;
+        // dueDate is the series start, so the day of month is pinned before it moves and a
+        // COUNT shrinks by the occurrence just done
+        RecurrenceRule advanced = occurrences.pinDayOfMonth(rule, task.getDueDate());
+        if (rule.getCount() > 0) advanced = advanced.withCount(rule.getCount() - 1);
+        if (!advanced.equals(rule)) task.setRecurrenceRule(advanced.toString());
+        task.setDueDate(next);
+        return true;
+    }
+
+    /** Moves an archived task back into the live list, still completed. */
+    public void restore(LifecycleOwner owner, int taskId, Callback<Boolean> callback) {
+        submit(writeExecutor, owner, () -> {
+            boolean restored = archiveDao.restore(taskId, System.currentTimeMillis());
+            taskCache.remove(taskId);
+            return restored;
+        }, callback, false);
+    }
+
+    /**
+     * Moves tasks completed more than {@link #ARCHIVE_AFTER_DAYS} days before {@code now} into
+     * the archive. Each chunk is its own short transaction, handed to the write thread as its own
+     * task, so list reads and user writes are never held up for the whole move. Drives the chunks
+     * from the calling thread, which must not be the write thread, and returns the number moved.
+     */
+    @WorkerThread
+    public int archiveCompleted(long now) {
+        long cutoff = now - TimeUnit.DAYS.toMillis(ARCHIVE_AFTER_DAYS);
+        List<Integer> found = archiveDao.findArchivable(cutoff);
+        int total = 0;
+        for (int start = 0; start < found.size(); start += ARCHIVE_CHUNK) {
+            int[] chunk = new int[Math.min(ARCHIVE_CHUNK, found.size() - start)];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = found.get(start + i);
+            }
+            int moved;
+            try {
+                moved = awaitWrite(() -> archiveDao.archiveChunk(chunk, cutoff, now));
+            } catch (IOException e) {
+                // Interrupted; archiveChunk throws nothing checked. The rest waits for the next pass
+                break;
+            }
+            total += moved;
+            // Per chunk, so archived rows stop being served as soon as they leave the table
+            if (moved > 0) {
+                taskCache.clear();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Streams every task to the stream that {@code open} returns and closes it; the result is the
+     * number exported. Runs on the transfer thread, so neither queries nor edits wait for it.
+     */
+    public void exportTasks(LifecycleOwner owner, TaskFormat format, Callable<OutputStream> open,
+                            @Nullable TaskTransfer.Progress progress, Callback<Long> callback) {
+        submit(transferExecutor, owner, () -> {
+            try (OutputStream out = open.call()) {
+                return TaskTransfer.export(taskDao, format, out, progress);
+            }
+        }, callback, false);
+    }
+
+    /**
+     * Adds the tasks read from the stream that {@code open} returns and closes it; the result is
+     * the number imported. Parsing runs on the transfer thread and each page is one write on the
+     * write thread, so edits made meanwhile wait for at most one page.
+     */
+    public void importTasks(LifecycleOwner owner, TaskFormat format, Callable<InputStream> open, long totalBytes,
+                            @Nullable TaskTransfer.Progress progress, Callback<Long> callback) {
+        submit(transferExecutor, owner, () -> {
+            try (InputStream in = open.call()) {
+                return TaskTransfer.importFrom(page -> awaitWrite(() -> taskDao.insertAll(page)),
+                        format, in, totalBytes, progress);
+            } finally {
+                // Bumps the write generation, so reads that overlapped the import aren't cached
+                taskCache.clear();
+            }
+        }, callback, false);
+    }
+
+    // Runs one write on the write thread and waits for it; for long jobs on other threads only
+    private <T> T awaitWrite(Callable<T> write) throws IOException {
+        try {
+            return writeExecutor.submit(write).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing");
+        }
+    }
+
+    public void insertAll(LifecycleOwner owner, List<Task> tasks, Callback<long[]> callback) {
+        submit(writeExecutor, owner, () -> {
+            long[] ids = taskDao.insertAll(tasks);
+            for (int i = 0; i < ids.length; i++) {
+                tasks.get(i).setId((int) ids[i]);
+            }
+            return ids;
+        }, callback, false);
+    }
+
+    public void updateAll(LifecycleOwner owner, List<Task> tasks, Callback<Integer> callback) {
+        submit(writeExecutor, owner, () -> {
+            int updated = taskDao.updateAll(tasks);
+            for (Task task : tasks) {
+                taskCache.put(task);
+            }
+            return updated;
+        }, callback, false);
+    }
+
+    public void deleteByIds(LifecycleOwner owner, int[] taskIds, Callback<Integer> callback) {
+        submit(writeExecutor, owner, () -> {
+            int deleted = taskDao.deleteByIds(taskIds);
+            taskCache.removeAll(taskIds);
+            return deleted;
+        }, callback, false);
+    }
+
+    public void rescheduleAll(LifecycleOwner owner, int[] taskIds, long newDueDate, Callback<Integer> callback) {
+        submit(writeExecutor, owner, () -> {
+            int updated = taskDao.rescheduleAll(taskIds, newDueDate);
+            taskCache.removeAll(taskIds);
+            return updated;
+        }, callback, false);
+    }
+
+    /**
+     * Runs {@code work} on {@code executor}. Reads are cancelled if the owner is destroyed before
+     * they start; writes always complete and only their callback is dropped.
+     */
+    private <T> void submit(ExecutorService executor, LifecycleOwner owner, Callable<T> work,
+                            Callback<T> callback, boolean cancelOnDestroy) {
+        Delivery<T> delivery = new Delivery<>(owner.getLifecycle(), callback, cancelOnDestroy);
+        delivery.future = executor.submit(() -> delivery.run(work));
+    }
+
+    /** Holds the callback only until the owner is destroyed, so finished screens are not retained. */
+    private final class Delivery<T> implements DefaultLifecycleObserver {
+        private final Lifecycle lifecycle;
+        private final boolean cancelOnDestroy;
+        private volatile Callback<T> callback;
+        private volatile Future<?> future;
+
+        Delivery(Lifecycle lifecycle, Callback<T> callback, boolean cancelOnDestroy) {
+            this.lifecycle = lifecycle;
+            this.cancelOnDestroy = cancelOnDestroy;
+            if (lifecycle.getCurrentState() != Lifecycle.State.DESTROYED) {
+                this.callback = callback;
+                lifecycle.addObserver(this);
+            }
+        }
+
+        void run(Callable<T> work) {
+            T result = null;
+            Exception error = null;
+            try {
+                result = work.call();
+            } catch (Exception e) {
+                error = e;
+            }
+            T finalResult = result;
+            Exception finalError = error;
+            mainHandler.post(() -> {
+                lifecycle.removeObserver(this);
+                Callback<T> target = callback;
+                callback = null;
+                if (target != null) {
+                    target.onComplete(finalResult, finalError);
+                }
+            });
+        }
+
+        @Override
+        public void onDestroy(@NonNull LifecycleOwner owner) {
+            callback = null;
+            owner.getLifecycle().removeObserver(this);
+            Future<?> pending = future;
+            if (cancelOnDestroy && pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanager.data;
+
+/**
+ * A search hit before ranking: only what ordering and tag filtering need, plus the raw
+ * {@code matchinfo(tasks_fts, 'pcx')} blob. List columns are loaded for the kept hits only.
+ */
+public class TaskSearchMatch {
+    public int id;
+    public long dueDate;
+    public long tagMask;
+    public byte[] matchInfo;
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/** Join row between {@link Task} and {@link Tag}; removed with either side. */
+@Entity(tableName = "task_tags",
+        primaryKeys = {"taskId", "tagId"},
+        foreignKeys = {
+                @ForeignKey(entity = Task.class, parentColumns = "id", childColumns = "taskId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = Tag.class, parentColumns = "id", childColumns = "tagId",
+                        onDelete = ForeignKey.CASCADE)},
+        indices = {@Index(value = {"tagId"})})
+public class TaskTag {
+    private int taskId;
+    private int tagId;
+
+    public TaskTag(int taskId, int tagId) {
+        this.taskId = taskId;
+        this.tagId = tagId;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public int getTagId() {
+        return tagId;
+    }
+}
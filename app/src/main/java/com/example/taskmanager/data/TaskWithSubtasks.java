@@ -0,0 +1,27 @@
+package com.example.taskmanager.data;
+
+import androidx.room.Embedded;
+import androidx.room.Relation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A task with its checklist. Room fills {@link #subtasks} for every parent row of a query with
+ * one extra {@code taskId IN (...)} query, so the DAO methods returning this are transactional.
+ */
+public class TaskWithSubtasks {
+    @Embedded
+    public Task task;
+
+    @Relation(parentColumn = "id", entityColumn = "taskId")
+    public List<Subtask> subtasks;
+
+    /** Subtasks in checklist order; the relation query itself cannot sort. */
+    public List<Subtask> getSortedSubtasks() {
+        List<Subtask> sorted = new ArrayList<>(subtasks);
+        sorted.sort(Comparator.comparingInt(Subtask::getPosition).thenComparingInt(Subtask::getId));
+        return sorted;
+    }
+}
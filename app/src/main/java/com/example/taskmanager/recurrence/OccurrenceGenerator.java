@@ -0,0 +1,336 @@
+package com.example.taskmanager.recurrence;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+
+/**
+ * Expands recurring tasks into occurrences on demand, only for the range a caller asks for:
+ * the detail screen's upcoming list, the next date shown on a list row and the next reminder.
+ * The list itself keeps one row per series. Nothing is stored in the database beyond the rule
+ * and the first due date. Expansion jumps straight to the period containing the range, so
+ * asking for occurrences years ahead costs the same as asking for next week. Each (rule, first
+ * occurrence) pair keeps the last range it expanded, so asking a little further on extends it
+ * rather than recomputing it. Safe to call from any thread.
+ */
+public final class OccurrenceGenerator {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int CACHED_SERIES = 64;
+    // Occurrences kept per series; a longer run is dropped and restarted at the new window
+    private static final int MAX_CACHED_OCCURRENCES = 256;
+    // Days of month above this are clamped in some month
+    private static final int SHORTEST_MONTH = 28;
+
+    private static final OccurrenceGenerator SHARED = new OccurrenceGenerator(TimeZone.getDefault(), CACHED_SERIES);
+
+    private final int maxSeries;
+    private final Map<Key, Expansion> cache;
+    // Stored rule text to parsed rule, so binding a row doesn't re-parse it; null marks bad text
+    private final Map<String, RecurrenceRule> parsed = new LinkedHashMap<>();
+    private TimeZone timeZone;
+    private Calendar calendar;
+    private long computed;
+
+    OccurrenceGenerator(TimeZone timeZone, int maxSeries) {
+        this.maxSeries = maxSeries;
+        this.cache = new LinkedHashMap<Key, Expansion>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Expansion> eldest) {
+                return size() > OccurrenceGenerator.this.maxSeries;
+            }
+        };
+        reset(timeZone);
+    }
+
+    public static OccurrenceGenerator get() {
+        return SHARED;
+    }
+
+    /**
+     * Occurrences of the series starting at {@code first} that fall in {@code [from, to)},
+     * ascending, at most {@code limit} of them.
+     */
+    public synchronized long[] between(RecurrenceRule rule, long first, long from, long to, int limit) {
+        if (limit <= 0 || from >= to) return new long[0];
+        Key key = new Key(rule, first);
+        Expansion cached = cache.get(key);
+        if (cached != null) {
+            long[] hit = cached.slice(from, to, limit);
+            if (hit != null) return hit;
+        }
+
+        long[] out = new long[0];
+        int size = 0;
+        long coveredTo = to;
+        // Continue from the end of a cached run when the window picks up where it stopped
+        boolean extend = cached != null && from >= cached.from && from <= cached.to;
+        long expandFrom = extend ? cached.to : from;
+        if (expandFrom < to) {
+            OccurrenceSink sink = new OccurrenceSink(limit - (extend ? cached.countFrom(from) : 0));
+            expand(rule, first, expandFrom, to, sink);
+            out = sink.values;
+            size = sink.size;
+            if (sink.full) coveredTo = sink.values[size - 1] + 1;
+        }
+
+        Expansion expansion;
+        if (extend && cached.size + size <= MAX_CACHED_OCCURRENCES) {
+            expansion = cached.append(out, size, coveredTo);
+        } else if (extend) {
+            // Too long to keep growing: restart the cached run at this window
+            long[] head = cached.sliceAll(from);
+            long[] merged = Arrays.copyOf(head, head.length + size);
+            System.arraycopy(out, 0, merged, head.length, size);
+            expansion = new Expansion(from, coveredTo, merged, merged.length);
+        } else {
+            expansion = new Expansion(from, coveredTo, out, size);
+        }
+        cache.put(key, expansion);
+        long[] result = expansion.slice(from, to, limit);
+        return result != null ? result : new long[0];
+    }
+
+    /** The first occurrence at or after {@code from}, or -1 once the series has ended. */
+    public long nextAtOrAfter(RecurrenceRule rule, long first, long from) {
+        long[] next = between(rule, first, from, Long.MAX_VALUE, 1);
+        return next.length == 0 ? -1 : next[0];
+    }
+
+    /**
+     * {@code rule} with the day of month of {@code first} written into it, for a series about to
+     * be re-anchored at a later occurrence. Without it a series on the 31st that moves to the
+     * 28th of February would stay on the 28th from then on. Days every month has are left
+     * implicit, since re-anchoring can't clamp them.
+     */
+    public synchronized RecurrenceRule pinDayOfMonth(RecurrenceRule rule, long first) {
+        RecurrenceRule.Frequency frequency = rule.getFrequency();
+        if (rule.byMonthDay() != 0
+                || (frequency != RecurrenceRule.Frequency.MONTHLY && frequency != RecurrenceRule.Frequency.YEARLY)) {
+            return rule;
+        }
+        calendar.setTimeInMillis(first);
+        int day = calendar.get(Calendar.DAY_OF_MONTH);
+        return day > SHORTEST_MONTH ? rule.withMonthDay(day) : rule;
+    }
+
+    /** The parsed form of a stored rule, or null when it is missing or unreadable. */
+    public synchronized RecurrenceRule rule(String text) {
+        if (text == null || text.isEmpty()) return null;
+        if (parsed.containsKey(text)) return parsed.get(text);
+        if (parsed.size() >= maxSeries) parsed.clear();
+        RecurrenceRule rule = RecurrenceRule.parseOrNull(text);
+        parsed.put(text, rule);
+        return rule;
+    }
+
+    /** Drops every cached expansion; call when the device time zone changes. */
+    public void invalidate() {
+        reset(TimeZone.getDefault());
+    }
+
+    synchronized void reset(TimeZone timeZone) {
+        this.timeZone = timeZone;
+        this.calendar = Calendar.getInstance(timeZone);
+        cache.clear();
+    }
+
+    /** Number of occurrences computed so far, for tests that check expansion stays windowed. */
+    synchronized long computedCount() {
+        return computed;
+    }
+
+    private void expand(RecurrenceRule rule, long first, long from, long to, OccurrenceSink sink) {
+        int interval = rule.getInterval();
+        int[] offsets = periodOffsets(rule, first);
+        // Occurrences per period after the first, and within the first, which skips any before 'first'
+        int perPeriod = offsets.length;
+        int firstPeriodCount = 0;
+        for (int offset : offsets) {
+            if (occurrence(rule, first, 0, offset) >= first) firstPeriodCount++;
+        }
+
+        long periods = Math.max(0, Math.floorDiv(unitsBetween(rule.getFrequency(), first, from), interval) - 1);
+        long sequence = periods == 0 ? 0 : firstPeriodCount + (periods - 1) * perPeriod;
+        for (long period = periods; ; period++) {
+            for (int offset : offsets) {
+                long time = occurrence(rule, first, period * interval, offset);
+                if (time < first) continue;
+                sequence++;
+                if (rule.getCount() > 0 && sequence > rule.getCount()) return;
+                if (time > rule.getUntil() || time >= to) return;
+                if (time >= from && !sink.add(time)) return;
+            }
+        }
+    }
+
+    /**
+     * Day offsets within one period, relative to the first occurrence. Only weekly rules with
+     * BYDAY have more than one; weeks start on Monday as in RRULE.
+     */
+    private int[] periodOffsets(RecurrenceRule rule, long first) {
+        if (rule.getFrequency() != RecurrenceRule.Frequency.WEEKLY || rule.byDay().length == 0) {
+            return new int[]{0};
+        }
+        calendar.setTimeInMillis(first);
+        int firstIndex = mondayIndex(calendar.get(Calendar.DAY_OF_WEEK));
+        int[] offsets = new int[rule.byDay().length];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = mondayIndex(rule.byDay()[i]) - firstIndex;
+        }
+        Arrays.sort(offsets);
+        return offsets;
+    }
+
+    private long occurrence(RecurrenceRule rule, long first, long units, int dayOffset) {
+        computed++;
+        calendar.setTimeInMillis(first);
+        switch (rule.getFrequency()) {
+            case DAILY:
+                calendar.add(Calendar.DAY_OF_MONTH, (int) units);
+                break;
+            case WEEKLY:
+                calendar.add(Calendar.DAY_OF_MONTH, (int) (units * 7 + dayOffset));
+                break;
+            case MONTHLY:
+            case YEARLY:
+                int day = rule.byMonthDay() != 0 ? rule.byMonthDay() : calendar.get(Calendar.DAY_OF_MONTH);
+                calendar.set(Calendar.DAY_OF_MONTH, 1);
+                calendar.add(rule.getFrequency() == RecurrenceRule.Frequency.MONTHLY ? Calendar.MONTH : Calendar.YEAR,
+                        (int) units);
+                calendar.set(Calendar.DAY_OF_MONTH, Math.min(day, calendar.getActualMaximum(Calendar.DAY_OF_MONTH)));
+                break;
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    // Whole calendar units from the period holding 'first' to the one holding 'time'
+    private long unitsBetween(RecurrenceRule.Frequency frequency, long first, long time) {
+        if (time <= first) return 0;
+        switch (frequency) {
+            case DAILY:
+                return localDay(time) - localDay(first);
+            case WEEKLY:
+                calendar.setTimeInMillis(first);
+                long weekStart = localDay(first) - mondayIndex(calendar.get(Calendar.DAY_OF_WEEK));
+                return Math.floorDiv(localDay(time) - weekStart, 7);
+            case MONTHLY:
+                return monthIndex(time) - monthIndex(first);
+            default:
+                return (monthIndex(time) - monthIndex(first)) / 12;
+        }
+    }
+
+    private long localDay(long time) {
+        return Math.floorDiv(time + timeZone.getOffset(time), DAY_MILLIS);
+    }
+
+    private long monthIndex(long time) {
+        calendar.setTimeInMillis(time);
+        return calendar.get(Calendar.YEAR) * 12L + calendar.get(Calendar.MONTH);
+    }
+
+    private static int mondayIndex(int calendarDay) {
+        return (calendarDay + 5) % 7;
+    }
+
+    private static final class OccurrenceSink {
+        final int limit;
+        long[] values;
+        int size;
+        boolean full;
+
+        OccurrenceSink(int limit) {
+            this.limit = limit;
+            this.values = new long[Math.max(1, Math.min(limit, 16))];
+        }
+
+        /** Returns false once the limit is reached. */
+        boolean add(long time) {
+            if (size >= limit) {
+                full = true;
+                return false;
+            }
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = time;
+            if (size == limit) {
+                full = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /** Every occurrence in {@code [from, to)}, in order. */
+    private static final class Expansion {
+        final long from;
+        final long to;
+        final long[] times;
+        final int size;
+
+        Expansion(long from, long to, long[] times, int size) {
+            this.from = from;
+            this.to = to;
+            this.times = times;
+            this.size = size;
+        }
+
+        /** The requested occurrences, or null if this run can't answer without expanding. */
+        long[] slice(long windowFrom, long windowTo, int limit) {
+            if (windowFrom < from) return null;
+            int start = lowerBound(windowFrom);
+            int end = start;
+            while (end < size && times[end] < windowTo && end - start < limit) end++;
+            boolean complete = end - start == limit || windowTo <= to;
+            return complete ? Arrays.copyOfRange(times, start, end) : null;
+        }
+
+        long[] sliceAll(long windowFrom) {
+            return Arrays.copyOfRange(times, lowerBound(windowFrom), size);
+        }
+
+        int countFrom(long windowFrom) {
+            return size - lowerBound(windowFrom);
+        }
+
+        Expansion append(long[] more, int count, long newTo) {
+            long[] merged = Arrays.copyOf(times, size + count);
+            System.arraycopy(more, 0, merged, size, count);
+            return new Expansion(from, newTo, merged, merged.length);
+        }
+
+        private int lowerBound(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < time) low = mid + 1; else high = mid;
+            }
+            return low;
+        }
+    }
+
+    private static final class Key {
+        final RecurrenceRule rule;
+        final long first;
+
+        Key(RecurrenceRule rule, long first) {
+            this.rule = rule;
+            this.first = first;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return first == other.first && rule.equals(other.rule);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rule, first);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.taskmanager.recurrence;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * An RRULE-style recurrence, stored as text in {@code tasks.recurrenceRule}, e.g.
+ * {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=10}. Supported parts are FREQ (DAILY, WEEKLY,
+ * MONTHLY, YEARLY), INTERVAL, BYDAY (weekly only), BYMONTHDAY (monthly or yearly, a single day
+ * that is clamped to short months; yearly rules keep the month of the first occurrence), COUNT
+ * and UNTIL (UTC, {@code yyyyMMdd} or
+ * {@code yyyyMMdd'T'HHmmss'Z'}). The task's due date is the first occurrence. Immutable.
+ */
+public final class RecurrenceRule {
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final String[] DAY_CODES = {"SU", "MO", "TU", "WE", "TH", "FR", "SA"};
+
+    private final Frequency frequency;
+    private final int interval;
+    // Calendar.SUNDAY..SATURDAY, ascending; empty means "the weekday of the first occurrence"
+    private final int[] byDay;
+    // 0 means "the day of month of the first occurrence"
+    private final int byMonthDay;
+    // 0 means unbounded
+    private final int count;
+    // Long.MAX_VALUE means unbounded
+    private final long until;
+
+    private RecurrenceRule(Frequency frequency, int interval, int[] byDay, int byMonthDay, int count, long until) {
+        if (interval < 1) throw new IllegalArgumentException("INTERVAL must be positive");
+        if (count < 0) throw new IllegalArgumentException("COUNT must not be negative");
+        if (byDay.length > 0 && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for FREQ=WEEKLY");
+        }
+        if (byMonthDay != 0 && ((frequency != Frequency.MONTHLY && frequency != Frequency.YEARLY)
+                || byMonthDay < 1 || byMonthDay > 31)) {
+            throw new IllegalArgumentException("BYMONTHDAY must be 1-31 with FREQ=MONTHLY or FREQ=YEARLY");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    public static RecurrenceRule of(Frequency frequency, int interval) {
+        return new RecurrenceRule(frequency, interval, new int[0], 0, 0, Long.MAX_VALUE);
+    }
+
+    /** Weekly on the given {@link Calendar} weekdays ({@code Calendar.MONDAY} etc.). */
+    public static RecurrenceRule weekly(int interval, int... calendarDays) {
+        return new RecurrenceRule(Frequency.WEEKLY, interval, normalizeDays(calendarDays), 0, 0, Long.MAX_VALUE);
+    }
+
+    /** Monthly on {@code dayOfMonth}, or on the last day of months that are shorter. */
+    public static RecurrenceRule monthlyOnDay(int interval, int dayOfMonth) {
+        return new RecurrenceRule(Frequency.MONTHLY, interval, new int[0], dayOfMonth, 0, Long.MAX_VALUE);
+    }
+
+    public RecurrenceRule withCount(int count) {
+        return new RecurrenceRule(frequency, interval, byDay, byMonthDay, count, until);
+    }
+
+    public RecurrenceRule withUntil(long until) {
+        return new RecurrenceRule(frequency, interval, byDay, byMonthDay, count, until);
+    }
+
+    public RecurrenceRule withMonthDay(int dayOfMonth) {
+        return new RecurrenceRule(frequency, interval, byDay, dayOfMonth, count, until);
+    }
+
+    /** Parses a rule; throws IllegalArgumentException for unsupported or malformed parts. */
+    public static RecurrenceRule parse(String text) {
+        if (text == null || text.trim().isEmpty()) throw new IllegalArgumentException("Empty rule");
+        String rule = text.trim();
+        if (rule.regionMatches(true, 0, "RRULE:", 0, 6)) rule = rule.substring(6);
+
+        Frequency frequency = null;
+        int interval = 1;
+        int[] byDay = new int[0];
+        int byMonthDay = 0;
+        int count = 0;
+        long until = Long.MAX_VALUE;
+        for (String part : rule.split(";")) {
+            if (part.isEmpty()) continue;
+            int eq = part.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Malformed part: " + part);
+            String key = part.substring(0, eq).toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).toUpperCase(Locale.ROOT);
+            try {
+                switch (key) {
+                    case "FREQ":
+                        frequency = Frequency.valueOf(value);
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(value);
+                        break;
+                    case "BYDAY":
+                        byDay = parseDays(value);
+                        break;
+                    case "BYMONTHDAY":
+                        byMonthDay = Integer.parseInt(value);
+                        break;
+                    case "COUNT":
+                        count = Integer.parseInt(value);
+                        break;
+                    case "UNTIL":
+                        until = parseUntil(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported part: " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed number in " + part, e);
+            }
+        }
+        if (frequency == null) throw new IllegalArgumentException("FREQ is required");
+        return new RecurrenceRule(frequency, interval, byDay, byMonthDay, count, until);
+    }
+
+    /** Like {@link #parse} but returns null for a missing or unreadable rule. */
+    public static RecurrenceRule parseOrNull(String text) {
+        if (text == null || text.isEmpty()) return null;
+        try {
+            return parse(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    int[] byDay() {
+        return byDay;
+    }
+
+    int byMonthDay() {
+        return byMonthDay;
+    }
+
+    /** Total number of occurrences including the first, or 0 when unbounded. */
+    public int getCount() {
+        return count;
+    }
+
+    /** Last instant an occurrence may fall on, or Long.MAX_VALUE when unbounded. */
+    public long getUntil() {
+        return until;
+    }
+
+    /** Canonical text form; equal rules always produce the same string. */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) builder.append(";INTERVAL=").append(interval);
+        if (byDay.length > 0) {
+            builder.append(";BYDAY=");
+            for (int i = 0; i < byDay.length; i++) {
+                if (i > 0) builder.append(',');
+                builder.append(DAY_CODES[byDay[i] - Calendar.SUNDAY]);
+            }
+        }
+        if (byMonthDay != 0) builder.append(";BYMONTHDAY=").append(byMonthDay);
+        if (count != 0) builder.append(";COUNT=").append(count);
+        if (until != Long.MAX_VALUE) builder.append(";UNTIL=").append(untilFormat().format(until));
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecurrenceRule)) return false;
+        RecurrenceRule other = (RecurrenceRule) o;
+        return frequency == other.frequency
+                && interval == other.interval
+                && byMonthDay == other.byMonthDay
+                && count == other.count
+                && until == other.until
+                && Arrays.equals(byDay, other.byDay);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = frequency.hashCode();
+        result = 31 * result + interval;
+        result = 31 * result + Arrays.hashCode(byDay);
+        result = 31 * result + byMonthDay;
+        result = 31 * result + count;
+        result = 31 * result + Long.hashCode(until);
+        return result;
+    }
+
+    private static int[] parseDays(String value) {
+        String[] codes = value.split(",");
+        int[] days = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            int index = Arrays.asList(DAY_CODES).indexOf(codes[i].trim());
+            if (index < 0) throw new IllegalArgumentException("Unsupported BYDAY value: " + codes[i]);
+            days[i] = Calendar.SUNDAY + index;
+        }
+        return normalizeDays(days);
+    }
+
+    private static int[] normalizeDays(int[] days) {
+        int[] sorted = Arrays.stream(days).distinct().sorted().toArray();
+        for (int day : sorted) {
+            if (day < Calendar.SUNDAY || day > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("Not a Calendar weekday: " + day);
+            }
+        }
+        return sorted;
+    }
+
+    private static long parseUntil(String value) {
+        try {
+            if (value.length() == 8) {
+                SimpleDateFormat dateOnly = new SimpleDateFormat("yyyyMMdd", Locale.ROOT);
+                dateOnly.setTimeZone(TimeZone.getTimeZone("UTC"));
+                // A date-only UNTIL includes that whole day
+                return dateOnly.parse(value).getTime() + 24L * 60 * 60 * 1000 - 1;
+            }
+            return untilFormat().parse(value).getTime();
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Malformed UNTIL: " + value, e);
+        }
+    }
+
+    private static SimpleDateFormat untilFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.reminder;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * The single reminder alarm. Every arm reuses one PendingIntent, so setting a new time replaces
+ * the pending alarm instead of adding another. Inexact while-idle alarms need no exact-alarm
+ * permission; a reminder a few minutes late is acceptable.
+ */
+final class ReminderAlarm implements ReminderScheduler.Alarm {
+    private final Context context;
+    private final AlarmManager alarmManager;
+
+    ReminderAlarm(Context context) {
+        this.context = context;
+        this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    }
+
+    @Override
+    public void set(long triggerAtMillis) {
+        alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent());
+    }
+
+    @Override
+    public void cancel() {
+        alarmManager.cancel(pendingIntent());
+    }
+
+    private PendingIntent pendingIntent() {
+        Intent intent = new Intent(context, ReminderReceiver.class).setAction(ReminderReceiver.ACTION_REMIND);
+        return PendingIntent.getBroadcast(context, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.reminder;
+
+import android.Manifest;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
+
+import com.example.taskmanager.MainActivity;
+import com.example.taskmanager.R;
+import com.example.taskmanager.data.TaskListItem;
+
+import java.util.List;
+
+/**
+ * Posts one grouped notification per batch of due tasks. A new batch replaces the previous
+ * notification rather than stacking one entry per task.
+ */
+final class ReminderNotifier implements ReminderScheduler.Notifier {
+    private static final String CHANNEL_ID = "task_reminders";
+    private static final String GROUP = "com.example.taskmanager.DUE_TASKS";
+    private static final int NOTIFICATION_ID = 1;
+    // Lines an expanded InboxStyle notification shows before the system truncates
+    private static final int MAX_LINES = 5;
+
+    private final Context context;
+
+    ReminderNotifier(Context context) {
+        this.context = context;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(CHANNEL_ID,
+                    context.getString(R.string.reminder_channel_name), NotificationManager.IMPORTANCE_DEFAULT);
+            context.getSystemService(NotificationManager.class).createNotificationChannel(channel);
+        }
+    }
+
+    @Override
+    public void notifyDue(List<TaskListItem> listed, int total) {
+        if (listed.isEmpty() || !canNotify()) return;
+
+        Intent open = new Intent(context, MainActivity.class)
+                .setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(android.R.drawable.ic_popup_reminder)
+                .setContentIntent(PendingIntent.getActivity(context, 0, open, PendingIntent.FLAG_IMMUTABLE))
+                .setAutoCancel(true)
+                .setGroup(GROUP)
+                .setGroupSummary(true)
+                .setNumber(total);
+
+        if (total == 1) {
+            builder.setContentTitle(listed.get(0).getTitle())
+                    .setContentText(context.getString(R.string.reminder_single_text));
+        } else {
+            String title = context.getResources().getQuantityString(R.plurals.reminder_batch_title, total, total);
+            NotificationCompat.InboxStyle inbox = new NotificationCompat.InboxStyle().setBigContentTitle(title);
+            for (int i = 0; i < listed.size() && i < MAX_LINES; i++) {
+                inbox.addLine(listed.get(i).getTitle());
+            }
+            if (total > MAX_LINES) {
+                inbox.setSummaryText(context.getString(R.string.reminder_batch_more, total - MAX_LINES));
+            }
+            builder.setContentTitle(title)
+                    .setContentText(listed.get(0).getTitle())
+                    .setStyle(inbox);
+        }
+        NotificationManagerCompat.from(context).notify(NOTIFICATION_ID, builder.build());
+    }
+
+    private boolean canNotify() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(context, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED) {
+            return false;
+        }
+        return NotificationManagerCompat.from(context).areNotificationsEnabled();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.reminder;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import com.example.taskmanager.data.DatabaseExecutors;
+
+/** Handles the reminder alarm, and re-arms it after a reboot clears pending alarms. */
+public class ReminderReceiver extends BroadcastReceiver {
+    static final String ACTION_REMIND = "com.example.taskmanager.action.REMIND";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        boolean remind = ACTION_REMIND.equals(action);
+        if (!remind && !Intent.ACTION_BOOT_COMPLETED.equals(action)) return;
+
+        PendingResult result = goAsync();
+        Context appContext = context.getApplicationContext();
+        DatabaseExecutors.io().execute(() -> {
+            try {
+                ReminderScheduler scheduler = Reminders.get(appContext);
+                if (remind) {
+                    scheduler.onAlarm();
+                } else {
+                    scheduler.reschedule();
+                }
+            } catch (Exception e) {
+                Log.e("REMINDERS", "Reminder handling failed: " + e.getMessage());
+            } finally {
+                result.finish();
+            }
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.taskmanager.reminder;
+
+import com.example.taskmanager.data.TaskListItem;
+import com.example.taskmanager.recurrence.OccurrenceGenerator;
+import com.example.taskmanager.recurrence.RecurrenceRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps exactly one reminder alarm pending: the one for the earliest task due after the last
+ * batch that was notified. For one-off tasks that is a single indexed {@code MIN(dueDate)}
+ * lookup however many tasks exist; recurring tasks are few, and their next occurrences are
+ * expanded in memory through {@link OccurrenceGenerator}. When the alarm fires, every task that
+ * fell due since the last batch goes into one grouped notification and the alarm moves on to
+ * the next due date.
+ *
+ * <p>Android types stay behind the small interfaces below, so the logic runs on the JVM
+ * with a fake clock.
+ */
+public final class ReminderScheduler {
+    /** Tasks listed in one notification; the total is still reported when there are more. */
+    static final int MAX_LISTED = 50;
+
+    public interface Source {
+        /** Earliest due date of a one-off task strictly after {@code after}, or null if there is none. */
+        Long nextDueAfter(long after);
+
+        /** One-off tasks due in {@code (after, upTo]}, earliest first, at most {@code limit}. */
+        List<TaskListItem> dueBetween(long after, long upTo, int limit);
+
+        int countDueBetween(long after, long upTo);
+
+        /** Open recurring tasks; their due date is the start of the series. */
+        List<TaskListItem> recurring();
+    }
+
+    public interface Alarm {
+        void set(long triggerAtMillis);
+
+        void cancel();
+    }
+
+    public interface Notifier {
+        void notifyDue(List<TaskListItem> listed, int total);
+    }
+
+    /** Persists the due date up to which reminders have already been shown. */
+    public interface Checkpoint {
+        /** -1 if nothing was recorded yet. */
+        long get();
+
+        void set(long notifiedThrough);
+    }
+
+    private static final long NOT_ARMED = Long.MIN_VALUE;
+
+    private final Source source;
+    private final Alarm alarm;
+    private final Notifier notifier;
+    private final Checkpoint checkpoint;
+    private final LongSupplier clock;
+    private final OccurrenceGenerator occurrences = OccurrenceGenerator.get();
+    private long armedAt = NOT_ARMED;
+
+    public ReminderScheduler(Source source, Alarm alarm, Notifier notifier, Checkpoint checkpoint,
+                             LongSupplier clock) {
+        this.source = source;
+        this.alarm = alarm;
+        this.notifier = notifier;
+        this.checkpoint = checkpoint;
+        this.clock = clock;
+    }
+
+    /**
+     * Re-arms the single alarm for the next due task. Call after any write to tasks; when the
+     * next due date hasn't moved, the pending alarm is left alone.
+     */
+    public synchronized void reschedule() {
+        long from = notifiedThrough();
+        Long next = source.nextDueAfter(from);
+        for (TaskListItem task : source.recurring()) {
+            long occurrence = nextOccurrenceAfter(task, from);
+            if (occurrence >= 0 && (next == null || occurrence < next)) next = occurrence;
+        }
+        if (next == null) {
+            if (armedAt != NOT_ARMED) {
+                alarm.cancel();
+                armedAt = NOT_ARMED;
+            }
+            return;
+        }
+        if (next != armedAt) {
+            alarm.set(next);
+            armedAt = next;
+        }
+    }
+
+    /** Notifies every task that fell due since the last batch, then arms the next alarm. */
+    public synchronized void onAlarm() {
+        long now = clock.getAsLong();
+        long from = notifiedThrough();
+        armedAt = NOT_ARMED;
+        if (now > from) {
+            int total = source.countDueBetween(from, now);
+            List<TaskListItem> listed = total > 0
+                    ? new ArrayList<>(source.dueBetween(from, now, MAX_LISTED))
+                    : new ArrayList<>();
+            // A recurring task is listed once however many of its occurrences were missed
+            for (TaskListItem task : source.recurring()) {
+                long occurrence = nextOccurrenceAfter(task, from);
+                if (occurrence < 0 || occurrence > now) continue;
+                total++;
+                if (listed.size() < MAX_LISTED) listed.add(task);
+            }
+            if (total > 0) {
+                notifier.notifyDue(listed, total);
+            }
+            checkpoint.set(now);
+        }
+        reschedule();
+    }
+
+    // First occurrence strictly after 'after', or -1; an unreadable rule counts as a one-off date
+    private long nextOccurrenceAfter(TaskListItem task, long after) {
+        RecurrenceRule rule = occurrences.rule(task.getRecurrenceRule());
+        if (rule == null) return task.getDueDate() > after ? task.getDueDate() : -1;
+        return occurrences.nextAtOrAfter(rule, task.getDueDate(), after + 1);
+    }
+
+    // On first run, tasks already overdue are treated as seen rather than announced at once
+    private long notifiedThrough() {
+        long through = checkpoint.get();
+        if (through < 0) {
+            through = clock.getAsLong();
+            checkpoint.set(through);
+        }
+        return through;
+    }
+}
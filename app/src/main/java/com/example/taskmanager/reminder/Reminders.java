@@ -0,0 +1,104 @@
+package com.example.taskmanager.reminder;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+
+import com.example.taskmanager.data.AppDatabase;
+import com.example.taskmanager.data.TaskDao;
+import com.example.taskmanager.data.TaskListItem;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wires {@link ReminderScheduler} to the task table, AlarmManager, notifications and a small
+ * preferences file. Every write to {@code tasks} triggers a reschedule, so the pending alarm
+ * always points at the next due task without the writers knowing about reminders.
+ */
+public final class Reminders {
+    private static final String PREFS = "reminders";
+    private static final String KEY_NOTIFIED_THROUGH = "notified_through";
+
+    private static volatile ReminderScheduler INSTANCE;
+
+    private Reminders() {
+    }
+
+    public static ReminderScheduler get(Context context) {
+        ReminderScheduler instance = INSTANCE;
+        if (instance == null) {
+            synchronized (Reminders.class) {
+                instance = INSTANCE;
+                if (instance == null) {
+                    instance = build(context.getApplicationContext());
+                    INSTANCE = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /** Arms the next reminder and keeps it in step with later writes. Call once per process. */
+    @WorkerThread
+    public static void start(Context context, AppDatabase database) {
+        ReminderScheduler scheduler = get(context);
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("tasks") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                // Already on Room's background refresh thread
+                try {
+                    scheduler.reschedule();
+                } catch (Exception e) {
+                    Log.e("REMINDERS", "Reschedule failed: " + e.getMessage());
+                }
+            }
+        });
+        scheduler.reschedule();
+    }
+
+    private static ReminderScheduler build(Context appContext) {
+        TaskDao taskDao = AppDatabase.getInstance(appContext).taskDao();
+        SharedPreferences prefs = appContext.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        return new ReminderScheduler(
+                new ReminderScheduler.Source() {
+                    @Override
+                    public Long nextDueAfter(long after) {
+                        return taskDao.getNextDueAfter(after);
+                    }
+
+                    @Override
+                    public List<TaskListItem> dueBetween(long after, long upTo, int limit) {
+                        return taskDao.getDueBetween(after, upTo, limit);
+                    }
+
+                    @Override
+                    public int countDueBetween(long after, long upTo) {
+                        return taskDao.countDueBetween(after, upTo);
+                    }
+
+                    @Override
+                    public List<TaskListItem> recurring() {
+                        return taskDao.getOpenRecurring();
+                    }
+                },
+                new ReminderAlarm(appContext),
+                new ReminderNotifier(appContext),
+                new ReminderScheduler.Checkpoint() {
+                    @Override
+                    public long get() {
+                        return prefs.getLong(KEY_NOTIFIED_THROUGH, -1);
+                    }
+
+                    @Override
+                    public void set(long notifiedThrough) {
+                        prefs.edit().putLong(KEY_NOTIFIED_THROUGH, notifiedThrough).apply();
+                    }
+                },
+                System::currentTimeMillis);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.startup;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Cold-start milestones, measured from {@link #start()} in {@code Application.onCreate}. Each
+ * milestone is recorded once, by whichever thread reaches it first, so opening the list again
+ * later in the same process does not overwrite the cold numbers. Values are -1 until reached.
+ */
+public final class StartupMetrics {
+    public enum Milestone {
+        DATABASE_OPEN("database open"),
+        FIRST_PAGE_WARM("first page warm"),
+        FIRST_DRAW("first draw"),
+        FIRST_TASK("first task");
+
+        private final String label;
+
+        Milestone(String label) {
+            this.label = label;
+        }
+    }
+
+    // nanoTime can be negative, so "not reached" needs a value no clock reading will produce
+    private static final long NOT_REACHED = Long.MIN_VALUE;
+
+    private static final StartupMetrics SHARED = new StartupMetrics(System::nanoTime);
+
+    private final LongSupplier clock;
+    private final AtomicLongArray reached = new AtomicLongArray(Milestone.values().length);
+    private volatile long startNanos = NOT_REACHED;
+
+    StartupMetrics(LongSupplier nanoClock) {
+        this.clock = nanoClock;
+        clear();
+    }
+
+    public static StartupMetrics get() {
+        return SHARED;
+    }
+
+    /** Starts the clock and forgets any milestones from a previous start. */
+    public void start() {
+        clear();
+        startNanos = clock.getAsLong();
+    }
+
+    /** Records {@code milestone} if the clock is running; returns false if it was already recorded. */
+    public boolean mark(Milestone milestone) {
+        if (startNanos == NOT_REACHED) return false;
+        return reached.compareAndSet(milestone.ordinal(), NOT_REACHED, clock.getAsLong());
+    }
+
+    public boolean isReached(Milestone milestone) {
+        return reached.get(milestone.ordinal()) != NOT_REACHED;
+    }
+
+    /** Time from start to {@code milestone} in milliseconds, or -1 if it has not been reached. */
+    public double getMillis(Milestone milestone) {
+        long start = startNanos;
+        long at = reached.get(milestone.ordinal());
+        return start == NOT_REACHED || at == NOT_REACHED ? -1 : (at - start) / 1_000_000.0;
+    }
+
+    /** One-line report for the log, e.g. "database open 12.0 ms, first draw 180.5 ms". */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        for (Milestone milestone : Milestone.values()) {
+            if (builder.length() > 0) builder.append(", ");
+            double millis = getMillis(milestone);
+            builder.append(milestone.label).append(' ')
+                    .append(millis < 0 ? "pending" : String.format(Locale.US, "%.1f ms", millis));
+        }
+        return builder.toString();
+    }
+
+    private void clear() {
+        startNanos = NOT_REACHED;
+        for (int i = 0; i < reached.length(); i++) {
+            reached.set(i, NOT_REACHED);
+        }
+    }
+}
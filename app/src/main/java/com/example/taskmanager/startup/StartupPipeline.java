@@ -0,0 +1,62 @@
+package com.example.taskmanager.startup;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.taskmanager.TaskListViewModel;
+import com.example.taskmanager.data.AppDatabase;
+import com.example.taskmanager.data.DatabaseExecutors;
+import com.example.taskmanager.data.TaskRepository;
+import com.example.taskmanager.reminder.Reminders;
+import com.example.taskmanager.startup.StartupMetrics.Milestone;
+
+/**
+ * Background work started at process start, before any activity exists: opens Room (running
+ * migrations if needed) and reads the rows of the list's first page, so that by the time
+ * MainActivity subscribes, the connection is open and those pages are in SQLite's cache.
+ * Reminders are armed after that, and old completed tasks are moved to the archive last, from
+ * the background job thread one chunk per write.
+ */
+public final class StartupPipeline {
+    private StartupPipeline() {
+    }
+
+    public static void start(Context context) {
+        StartupMetrics metrics = StartupMetrics.get();
+        metrics.start();
+        Context appContext = context.getApplicationContext();
+        DatabaseExecutors.io().execute(() -> {
+            try {
+                AppDatabase database = AppDatabase.open(appContext);
+                metrics.mark(Milestone.DATABASE_OPEN);
+                database.taskDao().getFirstTasks(TaskListViewModel.INITIAL_LOAD_SIZE);
+                metrics.mark(Milestone.FIRST_PAGE_WARM);
+                // After the list's rows, so reminder setup never delays the first screen
+                Reminders.start(appContext, database);
+                // Queued after the warm-up; each chunk is its own write, so edits interleave with it
+                DatabaseExecutors.transfer().execute(() -> archiveCompleted(appContext));
+            } catch (Exception e) {
+                Log.e("STARTUP", "Startup warm-up failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private static void archiveCompleted(Context context) {
+        try {
+            int archived = TaskRepository.getInstance(context).archiveCompleted(System.currentTimeMillis());
+            if (archived > 0) {
+                Log.i("STARTUP", "Archived " + archived + " completed tasks");
+            }
+        } catch (Exception e) {
+            Log.e("STARTUP", "Archiving completed tasks failed: " + e.getMessage());
+        }
+    }
+
+    /** Records the first task on screen and logs the cold-start timeline once. */
+    public static void reportFirstTask() {
+        StartupMetrics metrics = StartupMetrics.get();
+        if (metrics.mark(Milestone.FIRST_TASK)) {
+            Log.i("STARTUP", "Cold start: " + metrics.summary());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.taskmanager.transfer;
+
+import com.example.taskmanager.data.Task;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads CSV in the {@link CsvTaskWriter} layout one record at a time. Columns are matched by
+ * the header row, so their order may differ and unknown ones are ignored. Quoted fields may
+ * span lines; blank lines are skipped.
+ */
+public final class CsvTaskReader implements TaskReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private final StringBuilder text = new StringBuilder();
+    // Current record; the list is reused, its strings are dropped on the next record
+    private final List<String> fields = new ArrayList<>();
+    // Field index of each COLUMNS entry, or -1 when the file lacks it
+    private int[] columnIndex;
+    private long line = 1;
+
+    public CsvTaskReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public boolean read(Task into) throws IOException {
+        if (columnIndex == null) {
+            readHeader();
+        }
+        if (!readRecord()) return false;
+        into.setTitle(field(0));
+        into.setDescription(field(1));
+        into.setDueDate(parseLong(field(2)));
+        into.setRecurrenceRule(field(3));
+        into.setCompleted(parseBoolean(field(4)));
+        into.setCompletedAt(parseLong(field(5)));
+        return true;
+    }
+
+    private void readHeader() throws IOException {
+        columnIndex = new int[CsvTaskWriter.COLUMNS.length];
+        Arrays.fill(columnIndex, -1);
+        // Spreadsheet apps often save UTF-8 with a byte order mark, which would end up in the first name
+        int first = next();
+        if (first >= 0 && first != '\uFEFF') position--;
+        if (!readRecord()) return;
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i);
+            for (int column = 0; column < CsvTaskWriter.COLUMNS.length; column++) {
+                if (CsvTaskWriter.COLUMNS[column].equalsIgnoreCase(name != null ? name.trim() : null)) {
+                    columnIndex[column] = i;
+                }
+            }
+        }
+        if (columnIndex[0] < 0) throw new IOException("CSV header has no title column");
+    }
+
+    private String field(int column) {
+        int index = columnIndex[column];
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private long parseLong(String value) throws IOException {
+        if (value == null) return 0;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad number \"" + value + "\" on line " + line);
+        }
+    }
+
+    private boolean parseBoolean(String value) throws IOException {
+        if (value == null || value.trim().isEmpty()) return false;
+        if (value.trim().equalsIgnoreCase("true")) return true;
+        if (value.trim().equalsIgnoreCase("false")) return false;
+        throw new IOException("Bad boolean \"" + value + "\" on line " + line);
+    }
+
+    // Fills fields with the next non-blank record; false at the end of input
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        int c = next();
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = next();
+        }
+        if (c < 0) return false;
+        while (true) {
+            text.setLength(0);
+            boolean quoted = c == '"';
+            if (quoted) {
+                while (true) {
+                    c = next();
+                    if (c < 0) throw new IOException("Unterminated quoted field on line " + line);
+                    if (c == '"') {
+                        c = next();
+                        if (c != '"') break;
+                    }
+                    if (c == '\n') line++;
+                    text.append((char) c);
+                }
+                if (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                    throw new IOException("Unexpected character after quoted field on line " + line);
+                }
+            } else {
+                while (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                    text.append((char) c);
+                    c = next();
+                }
+            }
+            fields.add(quoted || text.length() > 0 ? text.toString() : null);
+            if (c == ',') {
+                c = next();
+                continue;
+            }
+            if (c >= 0) endLine(c);
+            return true;
+        }
+    }
+
+    // Finishes the line break that starts with c, which may be \r\n
+    private void endLine(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int after = next();
+            if (after != '\n' && after >= 0) position--;
+        }
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskmanager.transfer;
+
+import com.example.taskmanager.data.Task;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streams tasks as RFC 4180 CSV with a header row. A missing value is an empty field and an
+ * empty string is {@code ""}, so nulls survive a round trip.
+ */
+public final class CsvTaskWriter implements TaskWriter {
+    static final String[] COLUMNS = {"title", "description", "dueDate", "recurrenceRule", "completed", "completedAt"};
+    private static final String LINE_END = "\r\n";
+
+    private final Writer out;
+    private boolean finished;
+
+    public CsvTaskWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(String.join(",", COLUMNS));
+        out.write(LINE_END);
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        writeField(task.getTitle());
+        out.write(',');
+        writeField(task.getDescription());
+        out.write(',');
+        out.write(Long.toString(task.getDueDate()));
+        out.write(',');
+        writeField(task.getRecurrenceRule());
+        out.write(',');
+        out.write(task.isCompleted() ? "true" : "false");
+        out.write(',');
+        out.write(Long.toString(task.getCompletedAt()));
+        out.write(LINE_END);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) return;
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', start)) {
+            out.write(value, start, i + 1 - start);
+            out.write('"');
+            start = i + 1;
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty()) return true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
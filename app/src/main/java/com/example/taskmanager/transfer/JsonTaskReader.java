@@ -0,0 +1,255 @@
+package com.example.taskmanager.transfer;
+
+import com.example.taskmanager.data.Task;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull parser for the {@link JsonTaskWriter} format. It reads one task object per call from a
+ * buffered character stream and never holds more than the current value. Unknown keys, at the
+ * top level or inside a task, are skipped, so files from newer versions still import.
+ */
+public final class JsonTaskReader implements TaskReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long offset;
+    // Reused for every string value
+    private final StringBuilder text = new StringBuilder();
+    private boolean inArray;
+    private boolean readAny;
+    private boolean done;
+
+    public JsonTaskReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public boolean read(Task into) throws IOException {
+        if (done) return false;
+        if (!inArray) {
+            openTaskArray();
+            if (done) return false;
+        }
+        int c = nextNonWhitespace();
+        // Tasks after the first must follow a comma; the array can only end after a task
+        if (readAny) {
+            if (c == ']') {
+                done = true;
+                return false;
+            }
+            if (c != ',') throw syntaxError("Expected ',' or ']'");
+            c = nextNonWhitespace();
+        }
+        if (c != '{') throw syntaxError("Expected a task object");
+        readTask(into);
+        readAny = true;
+        return true;
+    }
+
+    // Skips to the "tasks" array of the top-level object
+    private void openTaskArray() throws IOException {
+        expect('{');
+        int c = nextNonWhitespace();
+        while (true) {
+            if (c == '}') throw syntaxError("No \"tasks\" array");
+            if (c != '"') throw syntaxError("Expected a key");
+            String key = readString();
+            expect(':');
+            if (key.equals("tasks")) {
+                expect('[');
+                inArray = true;
+                // An empty array ends right away
+                int next = nextNonWhitespace();
+                if (next == ']') {
+                    done = true;
+                } else {
+                    position--;
+                }
+                return;
+            }
+            skipValue(nextNonWhitespace());
+            c = nextNonWhitespace();
+            if (c == '}') throw syntaxError("No \"tasks\" array");
+            if (c != ',') throw syntaxError("Expected ',' or '}'");
+            c = nextNonWhitespace();
+        }
+    }
+
+    private void readTask(Task into) throws IOException {
+        into.setTitle(null);
+        into.setDescription(null);
+        into.setDueDate(0);
+        into.setRecurrenceRule(null);
+        into.setCompleted(false);
+        into.setCompletedAt(0);
+        int c = nextNonWhitespace();
+        if (c == '}') return;
+        while (true) {
+            if (c != '"') throw syntaxError("Expected a key");
+            String key = readString();
+            expect(':');
+            int value = nextNonWhitespace();
+            switch (key) {
+                case "title": into.setTitle(readNullableString(value)); break;
+                case "description": into.setDescription(readNullableString(value)); break;
+                case "dueDate": into.setDueDate(readLong(value)); break;
+                case "recurrenceRule": into.setRecurrenceRule(readNullableString(value)); break;
+                case "completed": into.setCompleted(readBoolean(value)); break;
+                case "completedAt": into.setCompletedAt(readLong(value)); break;
+                default: skipValue(value);
+            }
+            c = nextNonWhitespace();
+            if (c == '}') return;
+            if (c != ',') throw syntaxError("Expected ',' or '}'");
+            c = nextNonWhitespace();
+        }
+    }
+
+    private String readNullableString(int first) throws IOException {
+        if (first == 'n') {
+            expectLiteral("ull");
+            return null;
+        }
+        if (first != '"') throw syntaxError("Expected a string");
+        return readString();
+    }
+
+    // Called after the opening quote
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = next();
+            if (c == '"') return text.toString();
+            if (c == '\\') {
+                int escaped = next();
+                switch (escaped) {
+                    case '"': case '\\': case '/': text.append((char) escaped); break;
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'u': text.append(readHexChar()); break;
+                    default: throw syntaxError("Bad escape");
+                }
+            } else if (c < 0) {
+                throw syntaxError("Unterminated string");
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private char readHexChar() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(next(), 16);
+            if (digit < 0) throw syntaxError("Bad \\u escape");
+            value = value * 16 + digit;
+        }
+        return (char) value;
+    }
+
+    private long readLong(int first) throws IOException {
+        boolean negative = first == '-';
+        int c = negative ? next() : first;
+        if (c < '0' || c > '9') throw syntaxError("Expected a number");
+        // Accumulated as a negative number so Long.MIN_VALUE still fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (value < limit / 10 || value * 10 < limit + digit) throw syntaxError("Number out of range");
+            value = value * 10 - digit;
+            c = next();
+        }
+        if (c == '.' || c == 'e' || c == 'E') throw syntaxError("Expected a whole number");
+        if (c >= 0) position--;
+        return negative ? value : -value;
+    }
+
+    private boolean readBoolean(int first) throws IOException {
+        if (first == 't') {
+            expectLiteral("rue");
+            return true;
+        }
+        if (first == 'f') {
+            expectLiteral("alse");
+            return false;
+        }
+        throw syntaxError("Expected true or false");
+    }
+
+    private void skipValue(int first) throws IOException {
+        switch (first) {
+            case '"':
+                readString();
+                return;
+            case '{':
+            case '[': {
+                // Nested containers only need their depth tracked; strings may hold brackets
+                int depth = 1;
+                while (depth > 0) {
+                    int c = next();
+                    if (c < 0) throw syntaxError("Unterminated value");
+                    if (c == '"') readString();
+                    else if (c == '{' || c == '[') depth++;
+                    else if (c == '}' || c == ']') depth--;
+                }
+                return;
+            }
+            default:
+                // Number or literal: runs until a delimiter
+                int c = first;
+                while (c >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                    c = next();
+                }
+                if (c >= 0) position--;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextNonWhitespace() != expected) throw syntaxError("Expected '" + expected + "'");
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (next() != rest.charAt(i)) throw syntaxError("Bad literal");
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            offset += limit;
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at character " + (offset + position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.taskmanager.transfer;
+
+import com.example.taskmanager.data.Task;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streams tasks as {@code {"version":1,"tasks":[{...},...]}}, one object per line. Output
+ * goes straight to the writer, so memory use does not grow with the number of tasks.
+ */
+public final class JsonTaskWriter implements TaskWriter {
+    static final int VERSION = 1;
+
+    private final Writer out;
+    private boolean first = true;
+    private boolean finished;
+
+    public JsonTaskWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write("{\"version\":" + VERSION + ",\"tasks\":[");
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        out.write(first ? "\n{" : ",\n{");
+        first = false;
+        out.write("\"title\":");
+        writeString(task.getTitle());
+        out.write(",\"description\":");
+        writeString(task.getDescription());
+        out.write(",\"dueDate\":");
+        out.write(Long.toString(task.getDueDate()));
+        out.write(",\"recurrenceRule\":");
+        writeString(task.getRecurrenceRule());
+        out.write(",\"completed\":");
+        out.write(task.isCompleted() ? "true" : "false");
+        out.write(",\"completedAt\":");
+        out.write(Long.toString(task.getCompletedAt()));
+        out.write('}');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        out.write("\n]}\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escape = escape(c);
+            if (escape == null) continue;
+            // Unescaped runs go out in one call
+            out.write(value, start, i - start);
+            out.write(escape);
+            start = i + 1;
+        }
+        out.write(value, start, length - start);
+        out.write('"');
+    }
+
+    private static String escape(char c) {
+        switch (c) {
+            case '"': return "\\\"";
+            case '\\': return "\\\\";
+            case '\n': return "\\n";
+            case '\r': return "\\r";
+            case '\t': return "\\t";
+            case '\u2028': return "\\u2028";
+            case '\u2029': return "\\u2029";
+            default:
+                return c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+        }
+    }
+}
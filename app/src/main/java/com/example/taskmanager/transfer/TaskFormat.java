@@ -0,0 +1,51 @@
+package com.example.taskmanager.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Supported export and import formats. Both carry the same columns: title, description,
+ * dueDate, recurrenceRule, completed and completedAt. Ids are not exported, since imported
+ * tasks always get new ones; tags and checklists are not included.
+ */
+public enum TaskFormat {
+    JSON("application/json", "json"),
+    CSV("text/csv", "csv");
+
+    private final String mimeType;
+    private final String extension;
+
+    TaskFormat(String mimeType, String extension) {
+        this.mimeType = mimeType;
+        this.extension = extension;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public TaskWriter newWriter(Writer out) throws IOException {
+        return this == JSON ? new JsonTaskWriter(out) : new CsvTaskWriter(out);
+    }
+
+    public TaskReader newReader(Reader in) {
+        return this == JSON ? new JsonTaskReader(in) : new CsvTaskReader(in);
+    }
+
+    /** Picks the format from a MIME type or file name, or null if neither is recognised. */
+    public static TaskFormat detect(String mimeType, String fileName) {
+        for (TaskFormat format : values()) {
+            if (format.mimeType.equals(mimeType)
+                    || (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith("." + format.extension))) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
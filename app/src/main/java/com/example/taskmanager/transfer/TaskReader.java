@@ -0,0 +1,15 @@
+package com.example.taskmanager.transfer;
+
+import com.example.taskmanager.data.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads tasks one at a time. Each call overwrites the transferred fields of the given task,
+ * so a single instance, or a fixed set of them, serves a file of any size.
+ */
+public interface TaskReader extends Closeable {
+    /** Fills {@code into} with the next task; false once the input is exhausted. */
+    boolean read(Task into) throws IOException;
+}
@@ -0,0 +1,149 @@
+package com.example.taskmanager.transfer;
+
+import android.database.Cursor;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskDao;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves tasks between the database and a {@link TaskFormat} stream. Export reads fixed-size
+ * pages through a cursor and writes each row as it goes. Import parses into a fixed set of
+ * reused {@link Task} objects and inserts each full set in one transaction. Neither side ever
+ * holds more than one page, so heap use does not depend on how many tasks are moved.
+ */
+public final class TaskTransfer {
+
+    /** Progress so far; {@code total} is 0 when unknown. Called on the worker thread. */
+    public interface Progress {
+        void onProgress(long done, long total);
+    }
+
+    /** Stores one page of imported tasks. Must not return before it has: the page's objects are reused. */
+    public interface PageSink {
+        void insert(List<Task> page) throws IOException;
+    }
+
+    static final int PAGE_SIZE = 1000;
+    private static final int IO_BUFFER = 64 * 1024;
+
+    private TaskTransfer() {
+    }
+
+    /**
+     * Writes every live task to {@code out} and returns the number written. Progress is reported
+     * in tasks once per page. The stream is flushed but not closed.
+     */
+    @WorkerThread
+    public static long export(TaskDao dao, TaskFormat format, OutputStream out,
+                              @Nullable Progress progress) throws IOException {
+        long total = dao.count();
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IO_BUFFER);
+        TaskWriter tasks = format.newWriter(writer);
+        Task row = new Task();
+        long written = 0;
+        int lastId = 0;
+        int pageRows;
+        do {
+            pageRows = 0;
+            try (Cursor cursor = dao.exportPage(lastId, PAGE_SIZE)) {
+                while (cursor.moveToNext()) {
+                    lastId = cursor.getInt(0);
+                    row.setTitle(cursor.getString(1));
+                    row.setDescription(cursor.getString(2));
+                    row.setDueDate(cursor.getLong(3));
+                    row.setRecurrenceRule(cursor.getString(4));
+                    row.setCompleted(cursor.getInt(5) != 0);
+                    row.setCompletedAt(cursor.getLong(6));
+                    tasks.write(row);
+                    pageRows++;
+                }
+            }
+            written += pageRows;
+            if (progress != null) progress.onProgress(written, Math.max(total, written));
+        } while (pageRows == PAGE_SIZE);
+        tasks.finish();
+        return written;
+    }
+
+    /**
+     * Adds every task read from {@code in} as a new, untagged task and returns the number added.
+     * Each page of {@link #PAGE_SIZE} tasks is one transaction, so a malformed row stops the
+     * import after the last full page; the rows before it stay imported. Progress is reported in
+     * bytes against {@code totalBytes}, which may be 0 when the size is unknown.
+     */
+    @WorkerThread
+    public static long importFrom(TaskDao dao, TaskFormat format, InputStream in, long totalBytes,
+                                  @Nullable Progress progress) throws IOException {
+        return importFrom(dao::insertAll, format, in, totalBytes, progress);
+    }
+
+    /** Like {@link #importFrom(TaskDao, TaskFormat, InputStream, long, Progress)}, storing pages through {@code sink}. */
+    @WorkerThread
+    public static long importFrom(PageSink sink, TaskFormat format, InputStream in, long totalBytes,
+                                  @Nullable Progress progress) throws IOException {
+        CountingInputStream counted = new CountingInputStream(in);
+        TaskReader reader = format.newReader(new InputStreamReader(counted, StandardCharsets.UTF_8));
+        Task[] page = new Task[PAGE_SIZE];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = new Task();
+        }
+        List<Task> fullPage = Arrays.asList(page);
+        long imported = 0;
+        int size = 0;
+        while (reader.read(page[size])) {
+            if (++size == PAGE_SIZE) {
+                sink.insert(fullPage);
+                imported += size;
+                size = 0;
+                if (progress != null) progress.onProgress(counted.count, totalBytes);
+            }
+        }
+        if (size > 0) {
+            sink.insert(fullPage.subList(0, size));
+            imported += size;
+        }
+        if (progress != null) {
+            // The parser may stop before trailing bytes such as the closing brace
+            long end = Math.max(totalBytes, counted.count);
+            progress.onProgress(end, end);
+        }
+        return imported;
+    }
+
+    // Bytes handed to the decoder so far; runs a buffer ahead of the parser, which is close enough
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.transfer;
+
+import com.example.taskmanager.data.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes tasks one at a time in some file format. Nothing is kept per task once
+ * {@link #write} returns, so the same {@link Task} instance can be refilled for every row.
+ */
+public interface TaskWriter extends Closeable {
+    void write(Task task) throws IOException;
+
+    /** Finishes the document and flushes; the underlying stream stays open. */
+    void finish() throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Shared "dd MMM yyyy" due-date labels, memoized per local day. A hit is a lookup in a small
+ * direct-mapped table keyed by day number, so binding a row allocates nothing; only the first
+ * request for a day formats a new string. Safe to call from any thread.
+ */
+public final class DateLabels {
+    private static final String PATTERN = "dd MMM yyyy";
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Power of two; comfortably covers the distinct days visible while scrolling
+    private static final int SLOTS = 512;
+
+    private static final DateLabels SHARED = new DateLabels(Locale.getDefault(), TimeZone.getDefault());
+
+    private final long[] days = new long[SLOTS];
+    private final String[] labels = new String[SLOTS];
+    private SimpleDateFormat format;
+    private TimeZone timeZone;
+
+    DateLabels(Locale locale, TimeZone timeZone) {
+        reset(locale, timeZone);
+    }
+
+    public static DateLabels get() {
+        return SHARED;
+    }
+
+    public synchronized String format(long timestamp) {
+        long day = Math.floorDiv(timestamp + timeZone.getOffset(timestamp), DAY_MILLIS);
+        int slot = (int) (day & (SLOTS - 1));
+        String label = labels[slot];
+        if (label == null || days[slot] != day) {
+            label = format.format(new Date(timestamp));
+            days[slot] = day;
+            labels[slot] = label;
+        }
+        return label;
+    }
+
+    /** Drops every cached label; call when the device locale or time zone changes. */
+    public void invalidate() {
+        reset(Locale.getDefault(), TimeZone.getDefault());
+    }
+
+    synchronized void reset(Locale locale, TimeZone timeZone) {
+        this.timeZone = timeZone;
+        format = new SimpleDateFormat(PATTERN, locale);
+        format.setTimeZone(timeZone);
+        Arrays.fill(labels, null);
+    }
+}
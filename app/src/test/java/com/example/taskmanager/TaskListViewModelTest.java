@@ -0,0 +1,164 @@
+package com.example.taskmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.lifecycle.ViewModelStore;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskmanager.data.AppDatabase;
+import com.example.taskmanager.data.DatabaseExecutors;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives a fake screen through resumes and a configuration change while counting the list
+ * queries Room actually runs, to show the ViewModel stream reloads once per invalidation.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TaskListViewModelTest {
+    private final AtomicInteger listQueries = new AtomicInteger();
+    private AppDatabase database;
+    private ViewModelStore store;
+    private TaskListViewModel viewModel;
+
+    @Before
+    public void setUp() {
+        Application application = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(application, AppDatabase.class)
+                .setQueryCallback((sql, args) -> {
+                    // Page loads, not the COUNT(*) that accompanies them
+                    if (sql.contains("FROM tasks ORDER BY dueDate ASC, id ASC") && sql.contains("LIMIT")) {
+                        listQueries.incrementAndGet();
+                    }
+                }, Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+        TaskRepository repository = new TaskRepository(database, DatabaseExecutors.io(), DatabaseExecutors.write());
+        store = new ViewModelStore();
+        viewModel = new ViewModelProvider(store, new ViewModelProvider.Factory() {
+            @NonNull
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
+                return (T) new TaskListViewModel(application, repository);
+            }
+        }).get(TaskListViewModel.class);
+    }
+
+    @After
+    public void tearDown() {
+        store.clear();
+        database.close();
+    }
+
+    @Test
+    public void oneQueryPerInvalidation_regardlessOfResumesAndRotation() {
+        insertTask("First");
+        FakeScreen screen = new FakeScreen(viewModel);
+        awaitQueries(1);
+
+        for (int i = 0; i < 5; i++) {
+            screen.pauseAndResume();
+        }
+        settle();
+        assertEquals("resumes must not reload", 1, listQueries.get());
+
+        // Configuration change: the old screen goes away and a new one observes the same ViewModel
+        screen.destroy();
+        FakeScreen rotated = new FakeScreen(viewModel);
+        settle();
+        assertEquals("rotation must reuse cached pages", 1, listQueries.get());
+
+        insertTask("Second");
+        awaitQueries(2);
+        for (int i = 0; i < 3; i++) {
+            rotated.pauseAndResume();
+        }
+        insertTask("Third");
+        awaitQueries(3);
+        settle();
+        assertEquals(3, listQueries.get());
+        rotated.destroy();
+    }
+
+    private void insertTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(1_700_000_000_000L);
+        database.taskDao().insert(task);
+    }
+
+    private void awaitQueries(int expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (listQueries.get() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Expected " + expected + " list queries, saw " + listQueries.get());
+            }
+            pump();
+        }
+    }
+
+    // Gives any extra, unexpected reload a chance to show up before asserting on the count
+    private void settle() {
+        long deadline = System.currentTimeMillis() + 300;
+        while (System.currentTimeMillis() < deadline) {
+            pump();
+        }
+    }
+
+    private static void pump() {
+        ShadowLooper.idleMainLooper();
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Observes the ViewModel the way MainActivity does: once, feeding a real TaskAdapter. */
+    private static class FakeScreen implements LifecycleOwner {
+        private final LifecycleRegistry lifecycle = new LifecycleRegistry(this);
+        private final TaskAdapter adapter = new TaskAdapter();
+
+        FakeScreen(TaskListViewModel viewModel) {
+            lifecycle.setCurrentState(Lifecycle.State.CREATED);
+            viewModel.getTasks().observe(this, data -> adapter.submitData(lifecycle, data));
+            lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        }
+
+        void pauseAndResume() {
+            lifecycle.setCurrentState(Lifecycle.State.STARTED);
+            lifecycle.setCurrentState(Lifecycle.State.CREATED);
+            lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        }
+
+        void destroy() {
+            lifecycle.setCurrentState(Lifecycle.State.DESTROYED);
+        }
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return lifecycle;
+        }
+    }
+}
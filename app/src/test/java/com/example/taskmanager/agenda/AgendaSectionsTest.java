@@ -0,0 +1,78 @@
+package com.example.taskmanager.agenda;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.taskmanager.data.TaskListItem;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+public class AgendaSectionsTest {
+    private static final long HOUR = 60L * 60 * 1000;
+    private static final long DAY = 24 * HOUR;
+    // Wednesday 2023-11-15 12:00 UTC; UK weeks start on Monday 2023-11-20
+    private static final long NOW = 1_700_049_600_000L;
+
+    private final AgendaSections sections =
+            new AgendaSections(NOW, TimeZone.getTimeZone("UTC"), Locale.UK);
+
+    @Test
+    public void sectionOf_bucketsAroundToday() {
+        assertEquals(AgendaSection.NO_DATE, sections.sectionOf(0));
+        assertEquals(AgendaSection.OVERDUE, sections.sectionOf(NOW - 12 * HOUR - 1));
+        assertEquals(AgendaSection.TODAY, sections.sectionOf(NOW - 12 * HOUR));
+        assertEquals(AgendaSection.TODAY, sections.sectionOf(NOW + 12 * HOUR - 1));
+        assertEquals(AgendaSection.THIS_WEEK, sections.sectionOf(NOW + 12 * HOUR));
+        assertEquals(AgendaSection.THIS_WEEK, sections.sectionOf(NOW + 4 * DAY + 12 * HOUR - 1));
+        assertEquals(AgendaSection.LATER, sections.sectionOf(NOW + 4 * DAY + 12 * HOUR));
+    }
+
+    @Test
+    public void headerBetween_marksFirstRowOfEachSection() {
+        AgendaRow overdue = sections.toRow(item(1, NOW - 2 * DAY));
+        AgendaRow alsoOverdue = sections.toRow(item(2, NOW - DAY));
+        AgendaRow today = sections.toRow(item(3, NOW));
+
+        AgendaRow first = sections.headerBetween(null, overdue);
+        assertTrue(first.isHeader());
+        assertEquals(AgendaSection.OVERDUE, first.getSection());
+        assertNull(sections.headerBetween(overdue, alsoOverdue));
+        assertEquals(AgendaSection.TODAY, sections.headerBetween(alsoOverdue, today).getSection());
+        assertNull(sections.headerBetween(today, null));
+    }
+
+    @Test
+    public void startedSeriesAmongOneOffTasksGetsOneHeaderPerSection() {
+        // Sorted by stored due date, as the list query returns them
+        TaskListItem weekly = item(2, NOW - 3 * DAY);
+        weekly.setRecurrenceRule("FREQ=WEEKLY");
+        List<TaskListItem> sorted = Arrays.asList(
+                item(1, NOW - 5 * DAY), weekly, item(3, NOW - DAY), item(4, NOW), item(5, NOW + 2 * DAY));
+
+        List<AgendaSection> headers = new ArrayList<>();
+        AgendaRow before = null;
+        for (TaskListItem task : sorted) {
+            AgendaRow row = sections.toRow(task);
+            AgendaRow header = sections.headerBetween(before, row);
+            if (header != null) headers.add(header.getSection());
+            before = row;
+        }
+
+        assertEquals(Arrays.asList(AgendaSection.OVERDUE, AgendaSection.TODAY, AgendaSection.THIS_WEEK), headers);
+    }
+
+    private static TaskListItem item(int id, long dueDate) {
+        TaskListItem item = new TaskListItem();
+        item.setId(id);
+        item.setTitle("Task " + id);
+        item.setDueDate(dueDate);
+        return item;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.taskmanager.backup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskmanager.data.AppDatabase;
+import com.example.taskmanager.data.Tag;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskWithSubtasks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/** Snapshot of one database restored into another, with tags, checklists and the archive. */
+@RunWith(RobolectricTestRunner.class)
+public class SnapshotBackupTest {
+    private static final int TASKS = 2000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AppDatabase source;
+    private AppDatabase target;
+
+    @Before
+    public void setUp() {
+        source = open();
+        target = open();
+    }
+
+    @After
+    public void tearDown() {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void restore_replacesEveryTable() throws IOException {
+        Tag work = source.tagDao().create("Work");
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle(i == 0 ? "Buy milk" : "Task " + i);
+            task.setDescription(i % 2 == 0 ? null : "Details " + i);
+            task.setDueDate(1_700_000_000_000L + i);
+            task.setRecurrenceRule(i % 10 == 0 ? "FREQ=DAILY" : null);
+            task.setCompleted(i == 1);
+            task.setCompletedAt(i == 1 ? 1_600_000_000_000L : 0);
+            source.taskDao().insertWithTags(task, i % 3 == 0 ? new int[]{work.getId()} : new int[0]);
+        }
+        source.subtaskDao().append(1, "Check the fridge");
+        source.subtaskDao().append(1, "Go to the shop");
+        // Task 2 is the completed one
+        assertEquals(1, source.archiveDao().archiveChunk(new int[]{2}, Long.MAX_VALUE, 1_700_000_000_000L));
+
+        Task stale = new Task();
+        stale.setTitle("Replaced by the restore");
+        target.taskDao().insert(stale);
+
+        File file = new File(folder.getRoot(), "backup/tasks.snapshot");
+        long written = SnapshotBackup.write(source, file);
+        long restored = SnapshotBackup.restore(target, file);
+
+        assertEquals(written, restored);
+        assertEquals(TASKS - 1, target.taskDao().count());
+        for (int id = 1; id <= TASKS; id++) {
+            assertEquals("task " + id, source.taskDao().getTaskById(id), target.taskDao().getTaskById(id));
+        }
+        Tag restoredTag = target.tagDao().findByName("Work");
+        assertNotNull(restoredTag);
+        assertEquals(work.getBit(), restoredTag.getBit());
+        TaskWithSubtasks first = target.taskDao().getTaskWithSubtasks(1);
+        assertEquals(2, first.subtasks.size());
+        assertEquals(1, target.archiveDao().count());
+        // FTS indexes are rebuilt by their triggers
+        assertEquals(1, target.taskDao().search("milk", 10).size());
+        assertEquals(0, target.taskDao().search("replaced", 10).size());
+        assertEquals(1, target.archiveDao().search("task 1", 10).size());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void restore_newTasksDoNotReuseArchivedIds() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setCompleted(i == 2);
+            task.setCompletedAt(i == 2 ? 1_600_000_000_000L : 0);
+            source.taskDao().insert(task);
+        }
+        // The highest id only exists in the archive
+        assertEquals(1, source.archiveDao().archiveChunk(new int[]{3}, Long.MAX_VALUE, 1_700_000_000_000L));
+        File file = folder.newFile("tasks.snapshot");
+        SnapshotBackup.write(source, file);
+        SnapshotBackup.restore(target, file);
+
+        Task added = new Task();
+        added.setTitle("Added after the restore");
+        added.setCompleted(true);
+        added.setCompletedAt(1_600_000_000_000L);
+        int id = (int) target.taskDao().insert(added);
+
+        assertEquals(4, id);
+        assertEquals(1, target.archiveDao().archiveChunk(new int[]{id}, Long.MAX_VALUE, 1_700_000_000_000L));
+        assertEquals(2, target.archiveDao().count());
+    }
+
+    @Test
+    public void restore_corruptSnapshotLeavesDatabaseUntouched() throws IOException {
+        Task task = new Task();
+        task.setTitle("Source");
+        source.taskDao().insert(task);
+        Task kept = new Task();
+        kept.setTitle("Kept");
+        target.taskDao().insert(kept);
+        File file = folder.newFile("tasks.snapshot");
+        SnapshotBackup.write(source, file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() / 2);
+            int b = raf.read();
+            raf.seek(raf.length() / 2);
+            raf.write(b ^ 0x01);
+        }
+
+        try {
+            SnapshotBackup.restore(target, file);
+            fail("Expected the corrupt snapshot to be rejected");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("checksum"));
+        }
+        assertEquals("Kept", target.taskDao().getTaskById(1).getTitle());
+    }
+
+    private static AppDatabase open() {
+        return Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+}
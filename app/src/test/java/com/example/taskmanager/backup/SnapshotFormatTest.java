@@ -0,0 +1,244 @@
+package com.example.taskmanager.backup;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Round trips through the snapshot codec. The large test writes a million task-shaped rows to
+ * a file through a channel and reads them back from a memory map, as backup and restore do.
+ */
+public class SnapshotFormatTest {
+    private static final int LARGE_COUNT = 1_000_000;
+    private static final String[] TASK_COLUMNS = {
+            "id", "title", "description", "dueDate", "recurrenceRule", "tagMask", "completed", "completedAt"
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void millionRowsRoundTripThroughMappedFile() throws IOException {
+        File file = folder.newFile("tasks.snapshot");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            SnapshotWriter writer = new SnapshotWriter(out.getChannel(), 7, 1234L);
+            writer.beginTable("tasks", TASK_COLUMNS);
+            for (int i = 0; i < LARGE_COUNT; i++) {
+                writeTask(writer, i);
+            }
+            assertEquals(LARGE_COUNT, writer.endTable());
+            writer.finish();
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            SnapshotReader reader = new SnapshotReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            assertEquals(7, reader.getSchemaVersion());
+            assertEquals(1234L, reader.getCreatedAt());
+            assertTrue(reader.nextTable());
+            assertEquals("tasks", reader.getTableName());
+            assertArrayEquals(TASK_COLUMNS, reader.getColumns());
+            int count = 0;
+            while (reader.nextRow()) {
+                assertTask(reader, count++);
+            }
+            assertEquals(LARGE_COUNT, count);
+            assertFalse(reader.nextTable());
+        }
+    }
+
+    @Test
+    public void valuesRoundTrip() throws IOException {
+        String[] texts = {
+                "", "plain", "line\nbreak", "accents \u00e9\u00e8", "cjk \u4efb\u52a1", "emoji \uD83D\uDE00",
+                "\u0000 nul", "\u2028\u2029"
+        };
+        long[] numbers = {0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        byte[] blob = {0, 1, (byte) 0xFF, 0x7F};
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(bytes), 1, 0);
+        writer.beginTable("values", new String[]{"text", "number", "real", "blob"});
+        for (int i = 0; i < texts.length; i++) {
+            writer.beginRow();
+            writer.putText(texts[i]).putLong(numbers[i]).putDouble(i / 3.0).putBlob(blob);
+            writer.endRow();
+        }
+        writer.beginRow();
+        writer.putText(null).putNull().putDouble(Double.NaN).putBlob(null);
+        writer.endRow();
+        writer.endTable();
+        writer.finish();
+
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(bytes.toByteArray()));
+        assertTrue(reader.nextTable());
+        for (int i = 0; i < texts.length; i++) {
+            assertTrue(reader.nextRow());
+            assertEquals(texts[i], reader.getText());
+            assertEquals(numbers[i], reader.getLong());
+            assertEquals(i / 3.0, reader.getDouble(), 0);
+            assertArrayEquals(blob, reader.getBlob());
+        }
+        assertTrue(reader.nextRow());
+        assertNull(reader.getText());
+        assertEquals(SnapshotFormat.TYPE_NULL, reader.peekType());
+        reader.skipValue();
+        assertTrue(Double.isNaN(reader.getDouble()));
+        assertNull(reader.getBlob());
+        assertFalse(reader.nextRow());
+        assertFalse(reader.nextTable());
+    }
+
+    @Test
+    public void unpairedSurrogateIsWrittenLikeStringGetBytes() throws IOException {
+        String broken = "a\uD800b";
+        byte[] snapshot = singleText(broken);
+
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(snapshot));
+        reader.nextTable();
+        reader.nextRow();
+        assertEquals(new String(broken.getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8), reader.getText());
+    }
+
+    @Test
+    public void rowLargerThanOutputBuffer() throws IOException {
+        StringBuilder huge = new StringBuilder();
+        while (huge.length() < 1_000_000) {
+            huge.append("0123456789\u00e9");
+        }
+        byte[] snapshot = singleText(huge.toString());
+
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(snapshot));
+        reader.nextTable();
+        reader.nextRow();
+        assertEquals(huge.toString(), reader.getText());
+    }
+
+    @Test
+    public void unreadRowsAndTablesAreSkipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(bytes), 1, 0);
+        writer.beginTable("future_table", new String[]{"a", "b"});
+        for (int i = 0; i < 100; i++) {
+            writer.beginRow();
+            writer.putLong(i).putText("row " + i);
+            writer.endRow();
+        }
+        writer.endTable();
+        writer.beginTable("tasks", TASK_COLUMNS);
+        writeTask(writer, 5);
+        writeTask(writer, 6);
+        writer.endTable();
+        writer.finish();
+
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(bytes.toByteArray()));
+        assertTrue(reader.nextTable());
+        assertTrue(reader.nextRow());
+        assertEquals(0, reader.getLong());
+        // Leaves the rest of this row and table unread
+        assertTrue(reader.nextTable());
+        assertEquals("tasks", reader.getTableName());
+        assertTrue(reader.nextRow());
+        assertEquals("id of task 5", 6, reader.getLong());
+        assertTrue(reader.nextRow());
+        assertTask(reader, 6);
+        assertFalse(reader.nextRow());
+    }
+
+    @Test
+    public void corruptionIsDetectedBeforeReading() throws IOException {
+        byte[] snapshot = singleText("checked");
+
+        byte[] flipped = snapshot.clone();
+        flipped[flipped.length / 2] ^= 0x10;
+        assertRejected(flipped);
+
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 3);
+        assertRejected(truncated);
+
+        byte[] badMagic = snapshot.clone();
+        badMagic[0] = 'X';
+        assertRejected(badMagic);
+
+        assertRejected(new byte[0]);
+    }
+
+    @Test
+    public void wrongValueTypeIsReported() throws IOException {
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(singleText("text")));
+        reader.nextTable();
+        reader.nextRow();
+        try {
+            reader.getLong();
+            fail("Expected a type error");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("type"));
+        }
+    }
+
+    private static byte[] singleText(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(bytes), 1, 0);
+        writer.beginTable("t", new String[]{"value"});
+        writer.beginRow();
+        writer.putText(value);
+        writer.endRow();
+        writer.endTable();
+        writer.finish();
+        return bytes.toByteArray();
+    }
+
+    private static void assertRejected(byte[] snapshot) {
+        try {
+            new SnapshotReader(ByteBuffer.wrap(snapshot));
+            fail("Expected the snapshot to be rejected");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().startsWith("Corrupt snapshot"));
+        }
+    }
+
+    // Deterministic per index, so expected rows can be rebuilt while reading
+    private static void writeTask(SnapshotWriter writer, int i) throws IOException {
+        writer.beginRow();
+        writer.putLong(i + 1)
+                .putText("Task " + i)
+                .putText(i % 3 == 0 ? null : "Details for task " + i + (i % 7 == 0 ? " \u2013 caf\u00e9" : ""))
+                .putLong(i % 11 == 0 ? 0 : 1_700_000_000_000L + i * 60_000L)
+                .putText(i % 5 == 0 ? "FREQ=WEEKLY" : null)
+                .putLong(i % 13 == 0 ? Long.MIN_VALUE : i & 0xFF)
+                .putLong(i % 4 == 0 ? 1 : 0)
+                .putLong(i % 4 == 0 ? 1_700_000_000_000L + i : 0);
+        writer.endRow();
+    }
+
+    private static void assertTask(SnapshotReader reader, int i) throws IOException {
+        assertEquals(i + 1, reader.getLong());
+        assertEquals("Task " + i, reader.getText());
+        assertEquals(i % 3 == 0 ? null : "Details for task " + i + (i % 7 == 0 ? " \u2013 caf\u00e9" : ""),
+                reader.getText());
+        assertEquals(i % 11 == 0 ? 0 : 1_700_000_000_000L + i * 60_000L, reader.getLong());
+        assertEquals(i % 5 == 0 ? "FREQ=WEEKLY" : null, reader.getText());
+        assertEquals(i % 13 == 0 ? Long.MIN_VALUE : i & 0xFF, reader.getLong());
+        assertEquals(i % 4 == 0 ? 1 : 0, reader.getLong());
+        assertEquals(i % 4 == 0 ? 1_700_000_000_000L + i : 0, reader.getLong());
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskmanager.recurrence.RecurrenceRule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(RobolectricTestRunner.class)
+public class ArchiveTest implements LifecycleOwner {
+    private static final long NOW = 1_800_000_000_000L;
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private AppDatabase database;
+    private TaskRepository repository;
+    private final LifecycleRegistry lifecycle = new LifecycleRegistry(this);
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        repository = new TaskRepository(database, DatabaseExecutors.io(), DatabaseExecutors.write());
+        lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void movesOnlyTasksCompletedBeforeTheCutoff() {
+        // More than one chunk of old completed tasks, plus recent and open ones that must stay
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            tasks.add(task("Old " + i, true, NOW - 40 * DAY));
+        }
+        tasks.add(task("Recent", true, NOW - DAY));
+        tasks.add(task("Open", false, 0));
+        database.taskDao().insertAll(tasks);
+
+        int moved = repository.archiveCompleted(NOW);
+
+        assertEquals(450, moved);
+        assertEquals(450, database.archiveDao().count());
+        List<TaskListItem> live = database.taskDao().getFirstTasks(10);
+        assertEquals(2, live.size());
+        assertEquals(0, repository.archiveCompleted(NOW));
+    }
+
+    @Test
+    public void archivedTasksAreOnlyFoundByArchiveSearch() {
+        database.taskDao().insert(task("Quarterly invoice", true, NOW - 40 * DAY));
+        repository.archiveCompleted(NOW);
+
+        assertEquals(0, database.taskDao().search("invoice", 10).size());
+        List<TaskListItem> hits = database.archiveDao().search("invoice", 10);
+        assertEquals(1, hits.size());
+        assertTrue(hits.get(0).isArchived());
+        assertTrue(hits.get(0).isCompleted());
+    }
+
+    @Test
+    public void restoreBringsTheTaskBackUnderItsId() {
+        int id = (int) database.taskDao().insert(task("Filed", true, NOW - 40 * DAY));
+        repository.archiveCompleted(NOW);
+        assertNull(database.taskDao().getTaskById(id));
+
+        assertTrue(database.archiveDao().restore(id, NOW));
+
+        Task restored = database.taskDao().getTaskById(id);
+        assertNotNull(restored);
+        assertTrue(restored.isCompleted());
+        assertEquals(NOW, restored.getCompletedAt());
+        assertEquals(0, database.archiveDao().count());
+        assertEquals(1, database.taskDao().search("filed", 10).size());
+        assertEquals("not archived again straight away", 0, repository.archiveCompleted(NOW));
+    }
+
+    @Test
+    public void checklistAndTagsComeBackWithARestoredTask() {
+        Tag work = database.tagDao().create("Work");
+        int id = (int) database.taskDao().insertWithTags(task("Report", true, NOW - 40 * DAY), new int[]{work.getId()});
+        long firstStep = database.subtaskDao().append(id, "Draft");
+        database.subtaskDao().append(id, "Send");
+        database.subtaskDao().setDone((int) firstStep, true);
+
+        repository.archiveCompleted(NOW);
+        assertEquals(0, database.subtaskDao().nextPosition(id));
+        assertTrue(database.archiveDao().restore(id, NOW));
+
+        TaskWithSubtasks restored = database.taskDao().getTaskWithSubtasks(id);
+        List<Subtask> steps = restored.getSortedSubtasks();
+        assertEquals(2, steps.size());
+        assertEquals("Draft", steps.get(0).getTitle());
+        assertTrue(steps.get(0).isDone());
+        assertEquals(TagFilter.bit(work.getBit()), restored.task.getTagMask());
+    }
+
+    @Test
+    public void tasksReopenedDuringThePassStayLive() {
+        int id = (int) database.taskDao().insert(task("Reopened", true, NOW - 40 * DAY));
+        Task reopened = database.taskDao().getTaskById(id);
+        reopened.setCompleted(false);
+        database.taskDao().update(reopened);
+
+        assertEquals(0, database.archiveDao().archiveChunk(new int[]{id}, NOW, NOW));
+        assertNotNull(database.taskDao().getTaskById(id));
+    }
+
+    @Test
+    public void completingARecurringTaskMovesItToTheNextOccurrence() {
+        Task daily = task("Stretch", false, 0);
+        daily.setRecurrenceRule(RecurrenceRule.of(RecurrenceRule.Frequency.DAILY, 1).withCount(3).toString());
+        int id = (int) database.taskDao().insert(daily);
+
+        Task advanced = complete(id);
+
+        assertFalse(advanced.isCompleted());
+        assertEquals(daily.getDueDate() + DAY, advanced.getDueDate());
+        assertEquals(2, RecurrenceRule.parse(advanced.getRecurrenceRule()).getCount());
+
+        complete(id);
+        Task last = complete(id);
+        assertTrue("the series has ended", last.isCompleted());
+    }
+
+    @Test
+    public void monthlySeriesOnThe31stKeepsItsDayAfterAShortMonth() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2025, Calendar.JANUARY, 31, 9, 0);
+        Task monthly = task("Rent", false, 0);
+        monthly.setDueDate(calendar.getTimeInMillis());
+        monthly.setRecurrenceRule(RecurrenceRule.of(RecurrenceRule.Frequency.MONTHLY, 1).toString());
+        int id = (int) database.taskDao().insert(monthly);
+
+        List<Integer> days = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calendar.setTimeInMillis(complete(id).getDueDate());
+            days.add(calendar.get(Calendar.DAY_OF_MONTH));
+        }
+
+        assertEquals(List.of(28, 31, 30), days);
+    }
+
+    private Task complete(int taskId) {
+        AtomicReference<Task> result = new AtomicReference<>();
+        repository.setCompleted(this, taskId, true, (task, error) -> {
+            if (error != null) throw new AssertionError(error);
+            result.set(task);
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (result.get() == null) {
+            if (System.currentTimeMillis() > deadline) fail("setCompleted never called back");
+            ShadowLooper.idleMainLooper();
+        }
+        return result.get();
+    }
+
+    private static Task task(String title, boolean completed, long completedAt) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(NOW - 60 * DAY);
+        task.setCompleted(completed);
+        task.setCompletedAt(completedAt);
+        return task;
+    }
+
+    @NonNull
+    @Override
+    public Lifecycle getLifecycle() {
+        return lifecycle;
+    }
+}
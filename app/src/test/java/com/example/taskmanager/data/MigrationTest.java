@@ -0,0 +1,220 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Upgrades a hand-built version 1 database through {@link Migrations#ALL} and checks that
+ * Room accepts the result and that the list queries are served by the dueDate index. Each
+ * single step is also checked against the schemas Room exports to {@code app/schemas}, for the
+ * versions whose export is committed.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MigrationTest {
+    private static final String TEST_DB = "migration-test";
+    private static final String STEP_DB = "migration-step-test";
+
+    @Rule
+    public MigrationTestHelper helper =
+            new MigrationTestHelper(InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    private Context context;
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+        context.deleteDatabase(TEST_DB);
+        context.deleteDatabase(STEP_DB);
+    }
+
+    @Test
+    public void everyStepMatchesTheExportedSchema() throws IOException {
+        int latest = Migrations.ALL[Migrations.ALL.length - 1].endVersion;
+        for (int version = 2; version <= latest; version++) {
+            // Only Room's own export is a valid reference, so steps without one are skipped
+            if (!hasExportedSchema(version - 1) || !hasExportedSchema(version)) continue;
+            helper.createDatabase(STEP_DB, version - 1).close();
+            helper.runMigrationsAndValidate(STEP_DB, version, true, Migrations.ALL).close();
+            context.deleteDatabase(STEP_DB);
+        }
+    }
+
+    @Test
+    public void migrateFromVersion1_keepsExistingTasks() {
+        createVersion1Database();
+
+        database = openMigrated();
+        Task task = database.taskDao().getTaskById(1);
+
+        assertNotNull(task);
+        assertEquals("Legacy task", task.getTitle());
+        assertEquals("Created before indexes existed", task.getDescription());
+        assertEquals(1_700_000_000_000L, task.getDueDate());
+        assertNull("existing tasks stay one-off", task.getRecurrenceRule());
+        assertEquals("existing tasks start untagged", 0, task.getTagMask());
+        assertFalse("existing tasks start open", task.isCompleted());
+    }
+
+    @Test
+    public void migrateFromVersion1_listOrderUsesDueDateIndex() {
+        createVersion1Database();
+
+        database = openMigrated();
+        String plan = explain("SELECT * FROM tasks ORDER BY dueDate ASC, id ASC");
+
+        assertTrue(plan, plan.contains("index_tasks_dueDate_id"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void migrateFromVersion1_dueDateRangeUsesIndexSearch() {
+        createVersion1Database();
+
+        database = openMigrated();
+        String plan = explain("SELECT * FROM tasks WHERE dueDate > 0 ORDER BY dueDate ASC, id ASC LIMIT 1");
+
+        assertTrue(plan, plan.contains("SEARCH"));
+        assertTrue(plan, plan.contains("index_tasks_dueDate_id"));
+    }
+
+    @Test
+    public void migrateFromVersion1_nextReminderLookupUsesIndexSearch() {
+        createVersion1Database();
+
+        database = openMigrated();
+        String plan = explain(TaskDao.NEXT_DUE_QUERY, 0L);
+
+        assertTrue(plan, plan.contains("SEARCH"));
+        assertTrue(plan, plan.contains("index_tasks_dueDate_id"));
+    }
+
+    @Test
+    public void migrateFromVersion1_indexesExistingTasksForSearch() {
+        createVersion1Database();
+
+        database = openMigrated();
+        List<TaskListItem> results = database.taskDao().search("legac", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Legacy task", results.get(0).getTitle());
+    }
+
+    @Test
+    public void migrateFromVersion1_subtaskProgressUsesTaskIdIndex() {
+        createVersion1Database();
+
+        database = openMigrated();
+        String plan = explain("SELECT COUNT(*) FROM subtasks WHERE taskId = 1 AND done = 1");
+
+        assertTrue(plan, plan.contains("index_subtasks_taskId_done"));
+    }
+
+    @Test
+    public void migrateFromVersion1_subtasksAreDeletedWithTheirTask() {
+        createVersion1Database();
+
+        database = openMigrated();
+        database.subtaskDao().append(1, "Legacy step");
+        database.taskDao().deleteByIds(new int[]{1});
+
+        assertNull(database.taskDao().getTaskWithSubtasks(1));
+        assertEquals(0, database.taskDao().getFirstTasks(10).size());
+        assertEquals(0, database.subtaskDao().nextPosition(1));
+    }
+
+    @Test
+    public void migrateFromVersion1_archivedTasksStaySearchable() {
+        createVersion1Database();
+
+        database = openMigrated();
+        Task task = database.taskDao().getTaskById(1);
+        task.setCompleted(true);
+        task.setCompletedAt(1_700_000_000_000L);
+        database.taskDao().update(task);
+        int moved = database.archiveDao().archiveChunk(new int[]{1}, Long.MAX_VALUE, 1_800_000_000_000L);
+
+        assertEquals(1, moved);
+        assertEquals(0, database.taskDao().search("legac", 10).size());
+        List<TaskListItem> archived = database.archiveDao().search("legac", 10);
+        assertEquals(1, archived.size());
+        assertTrue(archived.get(0).isArchived());
+    }
+
+    private AppDatabase openMigrated() {
+        // Room validates the migrated schema against the entities when the database is opened
+        AppDatabase db = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(Migrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+        db.getOpenHelper().getWritableDatabase();
+        return db;
+    }
+
+    private boolean hasExportedSchema(int version) {
+        try (InputStream in = InstrumentationRegistry.getInstrumentation().getContext().getAssets()
+                .open(AppDatabase.class.getCanonicalName() + "/" + version + ".json")) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void createVersion1Database() {
+        File file = context.getDatabasePath(TEST_DB);
+        file.getParentFile().mkdirs();
+        SQLiteDatabase legacy = SQLiteDatabase.openOrCreateDatabase(file, null);
+        try {
+            legacy.execSQL("CREATE TABLE IF NOT EXISTS `tasks` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`title` TEXT, `description` TEXT, `dueDate` INTEGER NOT NULL)");
+            legacy.execSQL("INSERT INTO tasks (title, description, dueDate) "
+                    + "VALUES ('Legacy task', 'Created before indexes existed', 1700000000000)");
+            legacy.setVersion(1);
+        } finally {
+            legacy.close();
+        }
+    }
+
+    private String explain(String sql, Object... args) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
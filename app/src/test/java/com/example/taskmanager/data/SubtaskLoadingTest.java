@@ -0,0 +1,119 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Checklist progress and {@link TaskWithSubtasks} must cost a fixed number of queries however
+ * many tasks are read, rather than one per task.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SubtaskLoadingTest {
+    private static final int TASKS = 300;
+
+    private AppDatabase database;
+    private final List<String> selects = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryCallback((sql, args) -> {
+                    if (sql.trim().toUpperCase(Locale.ROOT).startsWith("SELECT")) {
+                        selects.add(sql);
+                    }
+                }, Runnable::run)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void listProgressIsReadByTheListQuery() {
+        int[] ids = insertTasksWithChecklists();
+        selects.clear();
+
+        List<TaskListItem> items = database.taskDao().getFirstTasks(TASKS);
+
+        assertEquals(1, selects.size());
+        assertEquals(TASKS, items.size());
+        for (int i = 0; i < TASKS; i++) {
+            TaskListItem item = items.get(i);
+            assertEquals(ids[i], item.getId());
+            assertEquals(i % 4, item.getSubtaskCount());
+            assertEquals(i % 4 / 2, item.getSubtasksDone());
+        }
+    }
+
+    @Test
+    public void relationIsLoadedWithOneBatchedQuery() {
+        int[] ids = insertTasksWithChecklists();
+        selects.clear();
+
+        List<TaskWithSubtasks> loaded = database.taskDao().getTasksWithSubtasks(ids);
+
+        assertEquals("tasks plus one IN (...) query for all subtasks", 2, selects.size());
+        assertEquals(TASKS, loaded.size());
+        for (int i = 0; i < TASKS; i++) {
+            assertEquals(ids[i], loaded.get(i).task.getId());
+            assertEquals(i % 4, loaded.get(i).subtasks.size());
+        }
+    }
+
+    @Test
+    public void sortedSubtasksFollowAppendOrder() {
+        int taskId = (int) database.taskDao().insert(task(0));
+        database.subtaskDao().append(taskId, "First");
+        database.subtaskDao().append(taskId, "Second");
+        database.subtaskDao().append(taskId, "Third");
+
+        List<Subtask> sorted = database.taskDao().getTaskWithSubtasks(taskId).getSortedSubtasks();
+
+        assertEquals("First", sorted.get(0).getTitle());
+        assertEquals("Second", sorted.get(1).getTitle());
+        assertEquals("Third", sorted.get(2).getTitle());
+        assertEquals(2, sorted.get(2).getPosition());
+    }
+
+    // Task i gets i % 4 subtasks, the first (i % 4) / 2 of them done
+    private int[] insertTasksWithChecklists() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(task(i));
+        }
+        long[] rowIds = database.taskDao().insertAll(tasks);
+        int[] ids = new int[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            ids[i] = (int) rowIds[i];
+            for (int s = 0; s < i % 4; s++) {
+                long subtaskId = database.subtaskDao().append(ids[i], "Step " + s);
+                if (s < i % 4 / 2) {
+                    database.subtaskDao().setDone((int) subtaskId, true);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Task task(int i) {
+        Task task = new Task();
+        task.setTitle("Task " + i);
+        task.setDueDate(1_700_000_000_000L + i);
+        return task;
+    }
+}
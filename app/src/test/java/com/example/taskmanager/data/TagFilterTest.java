@@ -0,0 +1,52 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TagFilterTest {
+    private static final long WORK = TagFilter.bit(0);
+    private static final long HOME = TagFilter.bit(1);
+    private static final long URGENT = TagFilter.bit(63);
+
+    @Test
+    public void allRequiresEveryTag() {
+        TagFilter filter = TagFilter.all(WORK | URGENT);
+
+        assertTrue(filter.matches(WORK | URGENT));
+        assertTrue(filter.matches(WORK | HOME | URGENT));
+        assertFalse(filter.matches(WORK));
+        assertFalse(filter.matches(0));
+    }
+
+    @Test
+    public void anyRequiresOneTag() {
+        TagFilter filter = TagFilter.any(HOME | URGENT);
+
+        assertTrue(filter.matches(URGENT));
+        assertTrue(filter.matches(WORK | HOME));
+        assertFalse(filter.matches(WORK));
+    }
+
+    @Test
+    public void emptyMaskMatchesEverything() {
+        assertSame(TagFilter.NONE, TagFilter.any(0));
+        assertTrue(TagFilter.NONE.isEmpty());
+        assertTrue(TagFilter.NONE.matches(0));
+        assertTrue(TagFilter.NONE.matches(WORK));
+    }
+
+    @Test
+    public void highestBitIsUsable() {
+        assertEquals(Long.MIN_VALUE, URGENT);
+        assertTrue(TagFilter.all(URGENT).matches(URGENT | WORK));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bitOutOfRangeIsRejected() {
+        TagFilter.bit(TagFilter.MAX_TAGS);
+    }
+}
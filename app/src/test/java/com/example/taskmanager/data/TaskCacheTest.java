@@ -0,0 +1,70 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskCacheTest {
+
+    @Test
+    public void get_countsHitsAndMisses() {
+        TaskCache cache = new TaskCache(10);
+        Task task = task(1, "Cached");
+        cache.put(task);
+
+        assertSame(task, cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        TaskCache cache = new TaskCache(2);
+        cache.put(task(1, "One"));
+        cache.put(task(2, "Two"));
+        cache.get(1);
+        cache.put(task(3, "Three"));
+
+        assertNull(cache.get(2));
+        assertEquals("One", cache.get(1).getTitle());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void putIfUnchanged_dropsReadsThatRacedWithAWrite() {
+        TaskCache cache = new TaskCache(10);
+        long generation = cache.writeGeneration();
+        cache.put(task(1, "Written during the read"));
+
+        cache.putIfUnchanged(task(1, "Stale read"), generation);
+
+        assertEquals("Written during the read", cache.get(1).getTitle());
+    }
+
+    @Test
+    public void removeAll_dropsEveryGivenId() {
+        TaskCache cache = new TaskCache(10);
+        cache.put(task(1, "One"));
+        cache.put(task(2, "Two"));
+        cache.put(task(3, "Three"));
+
+        cache.removeAll(new int[]{1, 3});
+
+        assertNull(cache.get(1));
+        assertEquals("Two", cache.get(2).getTitle());
+        assertNull(cache.get(3));
+    }
+
+    private static Task task(int id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
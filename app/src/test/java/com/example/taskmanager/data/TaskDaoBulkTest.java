@@ -0,0 +1,96 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskDaoBulkTest {
+    private AppDatabase database;
+    private TaskDao dao;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void insertAll_returnsGeneratedIdsInOrder() {
+        long[] ids = dao.insertAll(tasks(3));
+
+        assertEquals(3, ids.length);
+        assertEquals("Task 0", dao.getTaskById((int) ids[0]).getTitle());
+        assertEquals("Task 2", dao.getTaskById((int) ids[2]).getTitle());
+    }
+
+    @Test
+    public void updateAll_returnsAffectedRows() {
+        long[] ids = dao.insertAll(tasks(2));
+        List<Task> changed = new ArrayList<>();
+        for (long id : ids) {
+            Task task = dao.getTaskById((int) id);
+            task.setTitle("Renamed " + id);
+            changed.add(task);
+        }
+
+        assertEquals(2, dao.updateAll(changed));
+        assertEquals("Renamed " + ids[1], dao.getTaskById((int) ids[1]).getTitle());
+    }
+
+    @Test
+    public void deleteByIds_handlesMoreIdsThanBindLimit() {
+        int[] ids = toIntArray(dao.insertAll(tasks(2_000)));
+
+        assertEquals(2_000, dao.deleteByIds(ids));
+        assertNull(dao.getTaskById(ids[1_500]));
+    }
+
+    @Test
+    public void rescheduleAll_movesOnlyGivenTasks() {
+        int[] ids = toIntArray(dao.insertAll(tasks(3)));
+
+        assertEquals(2, dao.rescheduleAll(new int[]{ids[0], ids[2]}, 42L));
+        assertEquals(42L, dao.getTaskById(ids[0]).getDueDate());
+        assertEquals(1_000L, dao.getTaskById(ids[1]).getDueDate());
+        assertEquals(42L, dao.getTaskById(ids[2]).getDueDate());
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description " + i);
+            task.setDueDate(1_000L * (i + 1));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static int[] toIntArray(long[] ids) {
+        int[] result = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = (int) ids[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds synthetic datasets of increasing size into a file-backed {@link AppDatabase} and times
+ * the list, lookup and write paths. Sizes come from {@code dao.scaling.sizes}; every run is
+ * written to {@code dao-scaling.json}. Timings are only reported, since wall-clock budgets vary
+ * with the machine; what fails the test is a query plan that stops using its index, a page
+ * that doesn't come back full, or a batch write that invalidates observers more than once.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TaskDaoScalingTest {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int SEED_CHUNK = 10_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int LOOKUPS = 1_000;
+    private static final int BATCH = 1_000;
+    private static final int SINGLE_WRITES = 100;
+    private static final int OBSERVERS = 8;
+
+    // The statements room-paging issues for getTaskListPaged()
+    private static final String PAGE_QUERY = "SELECT * FROM ( " + TaskDao.LIST_QUERY + " ) LIMIT ? OFFSET ?";
+    private static final String COUNT_QUERY = "SELECT COUNT(*) FROM ( " + TaskDao.LIST_QUERY + " )";
+    private static final String ALL_TASKS_QUERY = "SELECT * FROM tasks ORDER BY dueDate ASC";
+
+    @Test
+    public void queriesKeepTheirPlansAsTableGrows() throws IOException {
+        Context context = ApplicationProvider.getApplicationContext();
+        List<Map<String, Object>> runs = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+
+        for (int size : sizes()) {
+            String name = "dao-scaling-" + size;
+            context.deleteDatabase(name);
+            AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, name)
+                    .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                    // Run invalidation refreshes inline so notification counts are deterministic
+                    .setQueryExecutor(Runnable::run)
+                    .allowMainThreadQueries()
+                    .build();
+            try {
+                Map<String, Object> metrics = measure(database, size);
+                runs.add(metrics);
+                checkPlans(database, size, failures);
+                checkMetrics(size, metrics, failures);
+            } finally {
+                database.close();
+                context.deleteDatabase(name);
+            }
+        }
+
+        writeReport(runs, failures);
+        assertTrue("Scaling regressions:\n" + String.join("\n", failures), failures.isEmpty());
+    }
+
+    private Map<String, Object> measure(AppDatabase database, int size) {
+        TaskDao dao = database.taskDao();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("size", size);
+
+        long start = System.nanoTime();
+        Random random = new Random(size);
+        for (int seeded = 0; seeded < size; seeded += SEED_CHUNK) {
+            dao.insertAll(tasks(random, Math.min(SEED_CHUNK, size - seeded)));
+        }
+        metrics.put("seedRowsPerSec", perSecond(size, System.nanoTime() - start));
+
+        start = System.nanoTime();
+        int firstPageRows = drain(database.query(PAGE_QUERY, new Object[]{PAGE_SIZE, 0}));
+        metrics.put("firstPageMs", millis(System.nanoTime() - start));
+        metrics.put("firstPageRows", firstPageRows);
+
+        start = System.nanoTime();
+        drain(database.query(PAGE_QUERY, new Object[]{PAGE_SIZE, size / 2}));
+        metrics.put("middlePageMs", millis(System.nanoTime() - start));
+
+        start = System.nanoTime();
+        drain(database.query(COUNT_QUERY, null));
+        metrics.put("pageCountMs", millis(System.nanoTime() - start));
+
+        start = System.nanoTime();
+        int allRows = drain(database.query(ALL_TASKS_QUERY, null));
+        metrics.put("allTasksMs", millis(System.nanoTime() - start));
+        metrics.put("allTasksRows", allRows);
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            dao.getTaskById(1 + random.nextInt(size));
+        }
+        metrics.put("getByIdAvgMicros", (System.nanoTime() - start) / 1_000.0 / LOOKUPS);
+
+        AtomicInteger notifications = new AtomicInteger();
+        List<InvalidationTracker.Observer> observers = new ArrayList<>();
+        for (int i = 0; i < OBSERVERS; i++) {
+            InvalidationTracker.Observer observer = new InvalidationTracker.Observer("tasks") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    notifications.incrementAndGet();
+                }
+            };
+            database.getInvalidationTracker().addObserver(observer);
+            observers.add(observer);
+        }
+
+        List<Task> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            Task task = dao.getTaskById(1 + i);
+            task.setTitle(task.getTitle() + " (updated)");
+            batch.add(task);
+        }
+        notifications.set(0);
+        start = System.nanoTime();
+        dao.updateAll(batch);
+        metrics.put("updateBatchMs", millis(System.nanoTime() - start));
+        metrics.put("notificationsPerBatchWrite", notifications.get() / (double) OBSERVERS);
+
+        notifications.set(0);
+        start = System.nanoTime();
+        for (int i = 0; i < SINGLE_WRITES; i++) {
+            dao.update(batch.get(i));
+        }
+        metrics.put("singleUpdateAvgMs", millis(System.nanoTime() - start) / SINGLE_WRITES);
+        metrics.put("notificationsPerSingleWrite", notifications.get() / (double) OBSERVERS / SINGLE_WRITES);
+
+        int[] ids = new int[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            ids[i] = size - i;
+        }
+        start = System.nanoTime();
+        dao.deleteByIds(ids);
+        metrics.put("deleteBatchMs", millis(System.nanoTime() - start));
+
+        for (InvalidationTracker.Observer observer : observers) {
+            database.getInvalidationTracker().removeObserver(observer);
+        }
+        return metrics;
+    }
+
+    // Index-backed paths keep the same plan at every size, so their cost can't grow with the table
+    private static void checkPlans(AppDatabase database, int size, List<String> failures) {
+        String page = explain(database, PAGE_QUERY, PAGE_SIZE, 0);
+        expectPlan(size, "page", page, "index_tasks_dueDate_id", failures);
+        // Both correlated progress counts read the subtasks index, not the table
+        expectPlan(size, "page", page, "index_subtasks_taskId_done", failures);
+        if (page.contains("TEMP B-TREE")) {
+            failures.add(size + ": page query sorts in a temp b-tree:\n" + page);
+        }
+        expectPlan(size, "next due", explain(database, TaskDao.NEXT_DUE_QUERY, 0L), "index_tasks_dueDate_id", failures);
+        expectPlan(size, "get by id", explain(database, "SELECT * FROM tasks WHERE id = ?", 1),
+                "INTEGER PRIMARY KEY", failures);
+    }
+
+    private static void checkMetrics(int size, Map<String, Object> metrics, List<String> failures) {
+        if (((Number) metrics.get("firstPageRows")).intValue() != Math.min(PAGE_SIZE, size)) {
+            failures.add(size + ": first page returned " + metrics.get("firstPageRows") + " rows");
+        }
+        if (((Number) metrics.get("allTasksRows")).intValue() != size) {
+            failures.add(size + ": full list returned " + metrics.get("allTasksRows") + " rows");
+        }
+        if (((Number) metrics.get("notificationsPerBatchWrite")).doubleValue() != 1.0) {
+            failures.add(size + ": a batch write must invalidate observers exactly once, got "
+                    + metrics.get("notificationsPerBatchWrite"));
+        }
+    }
+
+    private static void expectPlan(int size, String name, String plan, String expected, List<String> failures) {
+        if (!plan.contains(expected)) {
+            failures.add(size + ": " + name + " plan doesn't use " + expected + ":\n" + plan);
+        }
+    }
+
+    private static String explain(AppDatabase database, String sql, Object... args) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void writeReport(List<Map<String, Object>> runs, List<String> failures) throws IOException {
+        File dir = new File(System.getProperty("dao.scaling.reportDir", "build/reports/dao-scaling"));
+        dir.mkdirs();
+        try (Writer out = new FileWriter(new File(dir, "dao-scaling.json"))) {
+            out.write("{\n  \"runs\": [");
+            for (int i = 0; i < runs.size(); i++) {
+                out.write(i == 0 ? "\n    {" : ",\n    {");
+                boolean first = true;
+                for (Map.Entry<String, Object> entry : runs.get(i).entrySet()) {
+                    out.write((first ? "" : ", ") + "\"" + entry.getKey() + "\": " + entry.getValue());
+                    first = false;
+                }
+                out.write("}");
+            }
+            out.write("\n  ],\n  \"failures\": [");
+            for (int i = 0; i < failures.size(); i++) {
+                out.write((i == 0 ? "" : ", ") + "\"" + failures.get(i).replace("\"", "'") + "\"");
+            }
+            out.write("]\n}\n");
+        }
+    }
+
+    private static int[] sizes() {
+        String[] parts = System.getProperty("dao.scaling.sizes", "10000,100000").split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    private static List<Task> tasks(Random random, int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + random.nextInt(1_000_000));
+            task.setDescription(random.nextBoolean() ? null : "Details for task " + random.nextInt());
+            task.setDueDate(1_700_000_000_000L + random.nextInt(3_650) * DAY_MILLIS);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static int drain(Cursor cursor) {
+        try {
+            int rows = 0;
+            while (cursor.moveToNext()) {
+                cursor.getString(1);
+                rows++;
+            }
+            return rows;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long perSecond(int count, long nanos) {
+        return Math.round(count / (nanos / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class TaskEqualityTest {
+
+    @Test
+    public void task_equalWhenAllColumnsMatch() {
+        assertEquals(task(1, "Title", "Body", 10), task(1, "Title", "Body", 10));
+        assertEquals(task(1, "Title", null, 10).hashCode(), task(1, "Title", null, 10).hashCode());
+    }
+
+    @Test
+    public void task_notEqualWhenAnyColumnDiffers() {
+        Task base = task(1, "Title", "Body", 10);
+        assertNotEquals(base, task(2, "Title", "Body", 10));
+        assertNotEquals(base, task(1, "Other", "Body", 10));
+        assertNotEquals(base, task(1, "Title", null, 10));
+        assertNotEquals(base, task(1, "Title", "Body", 11));
+    }
+
+    @Test
+    public void listItem_comparesRenderedColumnsOnly() {
+        assertEquals(item(1, "Title", 10), item(1, "Title", 10));
+        assertNotEquals(item(1, "Title", 10), item(1, "Title", 11));
+        assertNotEquals(item(1, "Title", 10), item(1, "Renamed", 10));
+    }
+
+    private static Task task(int id, String title, String description, long dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    private static TaskListItem item(int id, String title, long dueDate) {
+        TaskListItem item = new TaskListItem();
+        item.setId(id);
+        item.setTitle(title);
+        item.setDueDate(dueDate);
+        return item;
+    }
+}
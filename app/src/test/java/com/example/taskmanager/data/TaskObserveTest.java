@@ -0,0 +1,165 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskObserveTest implements LifecycleOwner {
+    private AppDatabase database;
+    private TaskRepository repository;
+    private final List<Task> emissions = new ArrayList<>();
+    private final LifecycleRegistry lifecycle = new LifecycleRegistry(this);
+
+    @Before
+    public void setUp() {
+        Application application = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(application, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        repository = new TaskRepository(database, DatabaseExecutors.io(), DatabaseExecutors.write());
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void emitsOncePerRealChange() {
+        int id = insert("Watched");
+        int otherId = insert("Other");
+        observe(id);
+        awaitEmissions(1);
+
+        // Writes to other rows invalidate the table but leave this task unchanged
+        Task other = database.taskDao().getTaskById(otherId);
+        other.setTitle("Other, edited");
+        database.taskDao().update(other);
+        settle();
+        assertEquals(1, emissions.size());
+
+        Task watched = database.taskDao().getTaskById(id);
+        watched.setTitle("Watched, edited");
+        database.taskDao().update(watched);
+        awaitEmissions(2);
+        settle();
+        assertEquals(2, emissions.size());
+        assertEquals("Watched, edited", emissions.get(1).getTitle());
+    }
+
+    @Test
+    public void resumingDoesNotRedeliver() {
+        int id = insert("Watched");
+        observe(id);
+        awaitEmissions(1);
+
+        for (int i = 0; i < 3; i++) {
+            lifecycle.setCurrentState(Lifecycle.State.CREATED);
+            lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        }
+        settle();
+        assertEquals(1, emissions.size());
+    }
+
+    @Test
+    public void cachedTaskIsNotRedeliveredByTheFirstQuery() {
+        int id = insert("Cached");
+        repository.getTaskCache().put(database.taskDao().getTaskById(id));
+
+        observe(id);
+        assertEquals("cached copy is delivered without waiting", 1, emissions.size());
+        settle();
+        assertEquals(1, emissions.size());
+    }
+
+    @Test
+    public void getTaskPostsTheCallbackEvenOnACacheHit() {
+        int id = insert("Cached");
+        repository.getTaskCache().put(database.taskDao().getTaskById(id));
+        lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        List<Task> delivered = new ArrayList<>();
+
+        repository.getTask(this, id, (task, error) -> delivered.add(task));
+
+        assertEquals("not called from inside getTask", 0, delivered.size());
+        ShadowLooper.idleMainLooper();
+        assertEquals(1, delivered.size());
+        assertEquals("Cached", delivered.get(0).getTitle());
+    }
+
+    @Test
+    public void deletionEmitsNull() {
+        int id = insert("Doomed");
+        observe(id);
+        awaitEmissions(1);
+
+        database.taskDao().deleteByIds(new int[]{id});
+        awaitEmissions(2);
+        assertNull(emissions.get(1));
+    }
+
+    private int insert(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(1_700_000_000_000L);
+        return (int) database.taskDao().insert(task);
+    }
+
+    private void observe(int taskId) {
+        lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        repository.observeTask(taskId).observe(this, emissions::add);
+    }
+
+    @NonNull
+    @Override
+    public Lifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    private void awaitEmissions(int expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emissions.size() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Expected " + expected + " emissions, saw " + emissions.size());
+            }
+            pump();
+        }
+    }
+
+    // Leaves time for an unwanted re-delivery to show up before asserting on the count
+    private void settle() {
+        long deadline = System.currentTimeMillis() + 300;
+        while (System.currentTimeMillis() < deadline) {
+            pump();
+        }
+    }
+
+    private static void pump() {
+        ShadowLooper.idleMainLooper();
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskSearchTest {
+    private AppDatabase database;
+    private TaskDao dao;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void prefixQuery_stripsOperatorsAndAddsPrefixes() {
+        assertEquals("buy* milk*", FtsSearch.prefixQuery("  Buy \"milk\" OR-"));
+        assertEquals("or*", FtsSearch.prefixQuery("OR"));
+        assertNull(FtsSearch.prefixQuery(" *-() "));
+    }
+
+    @Test
+    public void search_leavesNonAsciiLettersAsTyped() {
+        // The simple tokenizer folds only ASCII, so "\u00FCber" must not be sent for "\u00DCber"
+        assertEquals("\u00DCber*", FtsSearch.prefixQuery("\u00DCBER"));
+        dao.insertAll(Arrays.asList(task("\u00DCbersicht", null, 1)));
+
+        assertEquals(1, dao.search("\u00DCber", 10).size());
+        assertEquals(1, dao.search("\u00DCBERSICHT", 10).size());
+    }
+
+    @Test
+    public void search_matchesWordPrefixesInAnyColumn() {
+        dao.insertAll(Arrays.asList(
+                task("Groceries", "milk and bread", 3),
+                task("Dentist", "call to reschedule", 2),
+                task("Pay bills", null, 1)));
+
+        List<TaskListItem> results = dao.search("gro", 10);
+        assertEquals(1, results.size());
+        assertEquals("Groceries", results.get(0).getTitle());
+
+        assertEquals("Dentist", dao.search("resched", 10).get(0).getTitle());
+        assertTrue(dao.search("nothing", 10).isEmpty());
+    }
+
+    @Test
+    public void search_ranksTitleHitsAboveDescriptionHits() {
+        dao.insertAll(Arrays.asList(
+                task("Call plumber", "kitchen sink", 1),
+                task("Kitchen", "buy new chairs", 2)));
+
+        List<TaskListItem> results = dao.search("kitchen", 10);
+
+        assertEquals(2, results.size());
+        assertEquals("Kitchen", results.get(0).getTitle());
+    }
+
+    @Test
+    public void search_followsUpdatesAndDeletes() {
+        long id = dao.insertAll(Arrays.asList(task("Draft report", null, 1)))[0];
+        Task task = dao.getTaskById((int) id);
+        task.setTitle("Final report");
+        dao.update(task);
+
+        assertTrue(dao.search("draft", 10).isEmpty());
+        assertEquals(1, dao.search("final", 10).size());
+
+        dao.delete(task);
+        assertTrue(dao.search("final", 10).isEmpty());
+    }
+
+    @Test
+    public void search_respectsLimit() {
+        Task[] tasks = new Task[20];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = task("Errand " + i, null, i);
+        }
+        dao.insertAll(Arrays.asList(tasks));
+
+        assertEquals(5, dao.search("errand", 5).size());
+    }
+
+    @Test
+    public void searchMatches_readsAtMostTheCandidateBound() {
+        Task[] tasks = new Task[20];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = task("Errand " + i, null, i);
+        }
+        dao.insertAll(Arrays.asList(tasks));
+
+        assertEquals(8, dao.searchMatches("errand*", 0, 0, 8).size());
+        assertEquals(FtsSearch.MAX_CANDIDATES, FtsSearch.candidates(5));
+    }
+
+    @Test
+    public void search_loadsListRowsOnlyForRankedHits() {
+        Task[] tasks = new Task[50];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = task("Errand " + i, i == 7 ? "errand errand" : null, i);
+        }
+        long[] ids = dao.insertAll(Arrays.asList(tasks));
+        database.subtaskDao().append((int) ids[7], "Find the list");
+
+        List<TaskListItem> results = dao.search("errand", 3);
+
+        assertEquals(3, results.size());
+        // Hits in the description as well rank first; the rest fall back to due date order
+        assertEquals("Errand 7", results.get(0).getTitle());
+        assertEquals(1, results.get(0).getSubtaskCount());
+        assertEquals("Errand 0", results.get(1).getTitle());
+        assertEquals("Errand 1", results.get(2).getTitle());
+    }
+
+    private static Task task(String title, String description, long dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.taskmanager.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+/** The tag bitmask has to follow task_tags through every write that changes the links. */
+@RunWith(RobolectricTestRunner.class)
+public class TaskTagTest {
+    private AppDatabase database;
+    private TaskDao taskDao;
+    private TagDao tagDao;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = database.taskDao();
+        tagDao = database.tagDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void tagsGetTheLowestFreeBit() {
+        Tag work = tagDao.create("Work");
+        Tag home = tagDao.create("Home");
+        tagDao.delete(work);
+        Tag errands = tagDao.create("Errands");
+
+        assertEquals(1, home.getBit());
+        assertEquals(0, errands.getBit());
+        assertEquals(home.getId(), tagDao.create("home").getId());
+    }
+
+    @Test
+    public void maskFollowsTheJoinTable() {
+        Tag work = tagDao.create("Work");
+        Tag urgent = tagDao.create("Urgent");
+        Task task = task("Report");
+        taskDao.insertWithTags(task, new int[]{work.getId(), urgent.getId()});
+
+        long expected = TagFilter.bit(work.getBit()) | TagFilter.bit(urgent.getBit());
+        assertEquals(expected, task.getTagMask());
+        assertEquals(expected, taskDao.getTaskById(task.getId()).getTagMask());
+
+        task.setTitle("Report, edited");
+        taskDao.updateWithTags(task, new int[]{urgent.getId()});
+        assertEquals(TagFilter.bit(urgent.getBit()), taskDao.getTaskById(task.getId()).getTagMask());
+    }
+
+    @Test
+    public void deletingATagClearsItsBit() {
+        Tag work = tagDao.create("Work");
+        Tag home = tagDao.create("Home");
+        Task task = task("Shared");
+        taskDao.insertWithTags(task, new int[]{work.getId(), home.getId()});
+
+        tagDao.delete(work);
+
+        assertEquals(TagFilter.bit(home.getBit()), taskDao.getTaskById(task.getId()).getTagMask());
+    }
+
+    @Test
+    public void searchKeepsOnlyMatchingTags() {
+        Tag work = tagDao.create("Work");
+        taskDao.insertWithTags(task("Invoice client"), new int[]{work.getId()});
+        taskDao.insertWithTags(task("Invoice landlord"), new int[0]);
+
+        List<TaskListItem> results = taskDao.search("invoice", TagFilter.all(TagFilter.bit(work.getBit())), 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Invoice client", results.get(0).getTitle());
+    }
+
+    @Test
+    public void filteredListWalksTheDueDateIndexWithoutJoining() {
+        String plan = explain("SELECT * FROM tasks WHERE (tagMask & 5) = 5 ORDER BY dueDate ASC, id ASC");
+
+        assertTrue(plan, plan.contains("index_tasks_dueDate_id"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+        assertFalse(plan, plan.contains("task_tags"));
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(1_700_000_000_000L);
+        return task;
+    }
+
+    private String explain(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query("EXPLAIN QUERY PLAN " + sql)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.taskmanager.recurrence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+public class OccurrenceGeneratorTest {
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Europe/Berlin");
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private final OccurrenceGenerator generator = new OccurrenceGenerator(ZONE, 8);
+
+    @Test
+    public void daily_expandsOnlyTheWindow() {
+        long first = at(2024, Calendar.JANUARY, 1, 9);
+
+        long[] week = generator.between(RecurrenceRule.parse("FREQ=DAILY"), first,
+                at(2024, Calendar.JANUARY, 10, 0), at(2024, Calendar.JANUARY, 13, 0), 100);
+
+        assertArrayEquals(new long[]{
+                at(2024, Calendar.JANUARY, 10, 9),
+                at(2024, Calendar.JANUARY, 11, 9),
+                at(2024, Calendar.JANUARY, 12, 9)}, week);
+    }
+
+    @Test
+    public void daily_keepsWallClockTimeAcrossDaylightSaving() {
+        long first = at(2024, Calendar.MARCH, 30, 9);
+
+        long[] days = generator.between(RecurrenceRule.parse("FREQ=DAILY"), first, first, first + 3 * DAY, 3);
+
+        assertEquals(at(2024, Calendar.MARCH, 31, 9), days[1]);
+        assertEquals(at(2024, Calendar.APRIL, 1, 9), days[2]);
+    }
+
+    @Test
+    public void weekly_byDaySkipsEarlierDaysOfTheFirstWeek() {
+        // A Wednesday; Monday of that week comes before the first occurrence
+        long first = at(2024, Calendar.JANUARY, 3, 9);
+        RecurrenceRule rule = RecurrenceRule.weekly(1, Calendar.MONDAY, Calendar.WEDNESDAY);
+
+        long[] occurrences = generator.between(rule, first, first, Long.MAX_VALUE, 3);
+
+        assertArrayEquals(new long[]{
+                at(2024, Calendar.JANUARY, 3, 9),
+                at(2024, Calendar.JANUARY, 8, 9),
+                at(2024, Calendar.JANUARY, 10, 9)}, occurrences);
+    }
+
+    @Test
+    public void monthly_onThe31stClampsWithoutDrifting() {
+        long first = at(2024, Calendar.JANUARY, 31, 9);
+        RecurrenceRule rule = RecurrenceRule.monthlyOnDay(1, 31);
+
+        long[] occurrences = generator.between(rule, first, first, Long.MAX_VALUE, 4);
+
+        assertArrayEquals(new long[]{
+                at(2024, Calendar.JANUARY, 31, 9),
+                at(2024, Calendar.FEBRUARY, 29, 9),
+                at(2024, Calendar.MARCH, 31, 9),
+                at(2024, Calendar.APRIL, 30, 9)}, occurrences);
+    }
+
+    @Test
+    public void pinnedDayOfMonthSurvivesReAnchoringOnAClampedDate() {
+        RecurrenceRule monthly = generator.pinDayOfMonth(
+                RecurrenceRule.of(RecurrenceRule.Frequency.MONTHLY, 1), at(2024, Calendar.JANUARY, 31, 9));
+        assertEquals("FREQ=MONTHLY;BYMONTHDAY=31", monthly.toString());
+        assertEquals(at(2024, Calendar.MARCH, 31, 9), generator.nextAtOrAfter(monthly,
+                at(2024, Calendar.FEBRUARY, 29, 9), at(2024, Calendar.FEBRUARY, 29, 10)));
+
+        RecurrenceRule yearly = generator.pinDayOfMonth(
+                RecurrenceRule.of(RecurrenceRule.Frequency.YEARLY, 1), at(2024, Calendar.FEBRUARY, 29, 9));
+        long[] years = generator.between(yearly, at(2025, Calendar.FEBRUARY, 28, 9),
+                at(2025, Calendar.FEBRUARY, 28, 9), Long.MAX_VALUE, 4);
+        assertEquals(at(2027, Calendar.FEBRUARY, 28, 9), years[2]);
+        assertEquals(at(2028, Calendar.FEBRUARY, 29, 9), years[3]);
+
+        RecurrenceRule unclamped = RecurrenceRule.of(RecurrenceRule.Frequency.MONTHLY, 1);
+        assertEquals(unclamped, generator.pinDayOfMonth(unclamped, at(2024, Calendar.JANUARY, 15, 9)));
+    }
+
+    @Test
+    public void countIsHonouredWhenTheWindowStartsLater() {
+        long first = at(2024, Calendar.JANUARY, 1, 9);
+        RecurrenceRule rule = RecurrenceRule.weekly(1, Calendar.MONDAY, Calendar.THURSDAY).withCount(5);
+
+        // Occurrences 1-5: Jan 1, 4, 8, 11, 15
+        long[] tail = generator.between(rule, first, at(2024, Calendar.JANUARY, 9, 0), Long.MAX_VALUE, 10);
+
+        assertArrayEquals(new long[]{
+                at(2024, Calendar.JANUARY, 11, 9),
+                at(2024, Calendar.JANUARY, 15, 9)}, tail);
+        assertEquals(-1, generator.nextAtOrAfter(rule, first, at(2024, Calendar.JANUARY, 16, 0)));
+    }
+
+    @Test
+    public void untilEndsTheSeries() {
+        long first = at(2024, Calendar.JANUARY, 1, 9);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240103");
+
+        assertEquals(3, generator.between(rule, first, first, Long.MAX_VALUE, 100).length);
+    }
+
+    @Test
+    public void farFutureWindowCostsTheSameAsNextWeek() {
+        long first = at(2024, Calendar.JANUARY, 1, 9);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY");
+
+        long before = generator.computedCount();
+        long[] later = generator.between(rule, first, at(2054, Calendar.JANUARY, 1, 0), at(2054, Calendar.JANUARY, 8, 0), 100);
+
+        assertEquals(7, later.length);
+        assertEquals(at(2054, Calendar.JANUARY, 1, 9), later[0]);
+        assertTrue("computed " + (generator.computedCount() - before),
+                generator.computedCount() - before < 20);
+    }
+
+    @Test
+    public void repeatedAndForwardWindowsReuseTheCache() {
+        long first = at(2024, Calendar.JANUARY, 1, 9);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY");
+        long from = at(2024, Calendar.FEBRUARY, 1, 0);
+
+        generator.between(rule, first, from, from + 10 * DAY, 100);
+        long afterFirst = generator.computedCount();
+        long[] again = generator.between(rule, first, from + 2 * DAY, from + 5 * DAY, 100);
+        assertEquals("a window inside the cached one computes nothing", afterFirst, generator.computedCount());
+        assertEquals(3, again.length);
+
+        // Scrolling on by a few days only expands the new days
+        long[] scrolled = generator.between(rule, first, from + 5 * DAY, from + 13 * DAY, 100);
+        assertEquals(8, scrolled.length);
+        assertTrue(generator.computedCount() - afterFirst <= 6);
+    }
+
+    private static long at(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance(ZONE);
+        calendar.clear();
+        calendar.set(year, month, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+}
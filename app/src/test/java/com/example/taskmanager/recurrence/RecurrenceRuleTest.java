@@ -0,0 +1,69 @@
+package com.example.taskmanager.recurrence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+public class RecurrenceRuleTest {
+
+    @Test
+    public void parse_roundTripsToCanonicalText() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:freq=weekly;byday=TH,MO;interval=2;count=10");
+
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, rule.getFrequency());
+        assertEquals(2, rule.getInterval());
+        assertEquals(10, rule.getCount());
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=10", rule.toString());
+        assertEquals(rule, RecurrenceRule.parse(rule.toString()));
+    }
+
+    @Test
+    public void parse_dateOnlyUntilIncludesTheWholeDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240131");
+
+        assertEquals("FREQ=DAILY;UNTIL=20240131T235959Z", rule.toString());
+    }
+
+    @Test
+    public void factories_matchParsedRules() {
+        assertEquals(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,FR"),
+                RecurrenceRule.weekly(1, Calendar.FRIDAY, Calendar.MONDAY));
+        assertEquals(RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=31;COUNT=3"),
+                RecurrenceRule.monthlyOnDay(1, 31).withCount(3));
+    }
+
+    @Test
+    public void parse_acceptsByMonthDayOnYearlyRules() {
+        assertEquals("FREQ=YEARLY;BYMONTHDAY=29", RecurrenceRule.parse("FREQ=YEARLY;BYMONTHDAY=29").toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsByMonthDayOnWeeklyRules() {
+        RecurrenceRule.parse("FREQ=WEEKLY;BYMONTHDAY=3");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsMissingFrequency() {
+        RecurrenceRule.parse("INTERVAL=2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsUnsupportedParts() {
+        RecurrenceRule.parse("FREQ=DAILY;BYHOUR=9");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsByDayOutsideWeeklyRules() {
+        RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO");
+    }
+
+    @Test
+    public void parseOrNull_toleratesUnreadableRules() {
+        assertNull(RecurrenceRule.parseOrNull(null));
+        assertNull(RecurrenceRule.parseOrNull(""));
+        assertNull(RecurrenceRule.parseOrNull("FREQ=HOURLY"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.taskmanager.reminder;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.taskmanager.data.TaskListItem;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+public class ReminderSchedulerTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long DAY = 24 * HOUR;
+    private static final long T0 = 1_700_000_000_000L;
+
+    private long now = T0;
+    private final FakeSource source = new FakeSource();
+    private final List<Long> alarmsSet = new ArrayList<>();
+    private int cancels;
+    private final List<List<TaskListItem>> notifications = new ArrayList<>();
+    private final List<Integer> totals = new ArrayList<>();
+    private long checkpoint = -1;
+
+    private final ReminderScheduler scheduler = new ReminderScheduler(
+            source,
+            new ReminderScheduler.Alarm() {
+                @Override public void set(long triggerAtMillis) { alarmsSet.add(triggerAtMillis); }
+                @Override public void cancel() { cancels++; }
+            },
+            (listed, total) -> {
+                notifications.add(listed);
+                totals.add(total);
+            },
+            new ReminderScheduler.Checkpoint() {
+                @Override public long get() { return checkpoint; }
+                @Override public void set(long notifiedThrough) { checkpoint = notifiedThrough; }
+            },
+            () -> now);
+
+    @Test
+    public void armsOnlyTheEarliestOfManyTasks() {
+        for (int i = 0; i < 5_000; i++) {
+            source.add(i + 1, T0 + (5_000 - i) * HOUR);
+        }
+
+        scheduler.reschedule();
+
+        assertEquals(List.of(T0 + HOUR), alarmsSet);
+    }
+
+    @Test
+    public void simultaneousTasksShareOneNotification() {
+        source.add(1, T0 + HOUR);
+        source.add(2, T0 + HOUR);
+        source.add(3, T0 + HOUR);
+        source.add(4, T0 + 3 * HOUR);
+        scheduler.reschedule();
+
+        now = T0 + HOUR;
+        scheduler.onAlarm();
+
+        assertEquals(1, notifications.size());
+        assertEquals(3, notifications.get(0).size());
+        assertEquals(List.of(T0 + HOUR, T0 + 3 * HOUR), alarmsSet);
+    }
+
+    @Test
+    public void lateAlarmCatchesUpEverythingMissed() {
+        source.add(1, T0 + HOUR);
+        source.add(2, T0 + 2 * HOUR);
+        scheduler.reschedule();
+
+        // e.g. the device was asleep or the process was dead
+        now = T0 + 5 * HOUR;
+        scheduler.onAlarm();
+
+        assertEquals(1, notifications.size());
+        assertEquals(2, (int) totals.get(0));
+        assertEquals("nothing left to arm", 1, alarmsSet.size());
+    }
+
+    @Test
+    public void writesOnlyReArmWhenTheNextDueDateMoves() {
+        source.add(1, T0 + 2 * HOUR);
+        scheduler.reschedule();
+
+        source.add(2, T0 + 10 * HOUR);
+        scheduler.reschedule();
+        assertEquals("a later task leaves the pending alarm alone", 1, alarmsSet.size());
+
+        source.add(3, T0 + HOUR);
+        scheduler.reschedule();
+        assertEquals(List.of(T0 + 2 * HOUR, T0 + HOUR), alarmsSet);
+
+        source.remove(3);
+        source.remove(1);
+        scheduler.reschedule();
+        assertEquals(T0 + 10 * HOUR, (long) alarmsSet.get(alarmsSet.size() - 1));
+    }
+
+    @Test
+    public void cancelsWhenTheLastPendingTaskIsDeleted() {
+        source.add(1, T0 + HOUR);
+        scheduler.reschedule();
+
+        source.remove(1);
+        scheduler.reschedule();
+
+        assertEquals(1, cancels);
+    }
+
+    @Test
+    public void firstRunDoesNotAnnounceExistingOverdueTasks() {
+        source.add(1, T0 - HOUR);
+        source.add(2, T0 + HOUR);
+
+        scheduler.reschedule();
+
+        assertEquals(T0, checkpoint);
+        assertEquals(List.of(T0 + HOUR), alarmsSet);
+        now = T0 + HOUR;
+        scheduler.onAlarm();
+        assertEquals(1, (int) totals.get(0));
+        assertEquals(2, notifications.get(0).get(0).getId());
+    }
+
+    @Test
+    public void largeBatchesListACappedNumberButReportTheTotal() {
+        for (int i = 0; i < ReminderScheduler.MAX_LISTED + 20; i++) {
+            source.add(i + 1, T0 + HOUR);
+        }
+        scheduler.reschedule();
+
+        now = T0 + HOUR;
+        scheduler.onAlarm();
+
+        assertEquals(ReminderScheduler.MAX_LISTED, notifications.get(0).size());
+        assertEquals(ReminderScheduler.MAX_LISTED + 20, (int) totals.get(0));
+        assertEquals(1, alarmsSet.size());
+    }
+
+    @Test
+    public void recurringTasksRemindOnEachOccurrence() {
+        // Started well before now, so its series start says nothing about the next reminder
+        source.addRecurring(1, T0 - 2 * DAY + HOUR, "FREQ=DAILY");
+        source.add(2, T0 + 3 * HOUR);
+        scheduler.reschedule();
+        assertEquals(List.of(T0 + HOUR), alarmsSet);
+
+        now = T0 + HOUR;
+        scheduler.onAlarm();
+        assertEquals(1, (int) totals.get(0));
+        assertEquals(1, notifications.get(0).get(0).getId());
+        assertEquals(T0 + 3 * HOUR, (long) alarmsSet.get(alarmsSet.size() - 1));
+
+        now = T0 + 3 * HOUR;
+        scheduler.onAlarm();
+        assertEquals(2, notifications.get(1).get(0).getId());
+        assertEquals("the next day's occurrence", T0 + DAY + HOUR, (long) alarmsSet.get(alarmsSet.size() - 1));
+    }
+
+    /** In-memory stand-in for the dueDate index. */
+    private static class FakeSource implements ReminderScheduler.Source {
+        private final TreeMap<Long, List<TaskListItem>> byDue = new TreeMap<>();
+        private final List<TaskListItem> recurring = new ArrayList<>();
+
+        void add(int id, long dueDate) {
+            TaskListItem item = new TaskListItem();
+            item.setId(id);
+            item.setTitle("Task " + id);
+            item.setDueDate(dueDate);
+            byDue.computeIfAbsent(dueDate, d -> new ArrayList<>()).add(item);
+        }
+
+        void addRecurring(int id, long dueDate, String rule) {
+            TaskListItem item = new TaskListItem();
+            item.setId(id);
+            item.setTitle("Task " + id);
+            item.setDueDate(dueDate);
+            item.setRecurrenceRule(rule);
+            recurring.add(item);
+        }
+
+        void remove(int id) {
+            byDue.values().forEach(items -> items.removeIf(item -> item.getId() == id));
+            byDue.values().removeIf(List::isEmpty);
+        }
+
+        @Override
+        public Long nextDueAfter(long after) {
+            return byDue.higherKey(after);
+        }
+
+        @Override
+        public List<TaskListItem> dueBetween(long after, long upTo, int limit) {
+            List<TaskListItem> due = new ArrayList<>();
+            for (List<TaskListItem> items : byDue.subMap(after, false, upTo, true).values()) {
+                for (TaskListItem item : items) {
+                    if (due.size() < limit) due.add(item);
+                }
+            }
+            return due;
+        }
+
+        @Override
+        public int countDueBetween(long after, long upTo) {
+            int count = 0;
+            for (List<TaskListItem> items : byDue.subMap(after, false, upTo, true).values()) {
+                count += items.size();
+            }
+            return count;
+        }
+
+        @Override
+        public List<TaskListItem> recurring() {
+            return recurring;
+        }
+    }
+}
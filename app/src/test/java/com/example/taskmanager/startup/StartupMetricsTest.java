@@ -0,0 +1,75 @@
+package com.example.taskmanager.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.taskmanager.startup.StartupMetrics.Milestone;
+
+import org.junit.Test;
+
+public class StartupMetricsTest {
+    private static final long MS = 1_000_000L;
+
+    // Starts negative: System.nanoTime() may, and that must not read as "not reached"
+    private long now = -5_000 * MS;
+    private final StartupMetrics metrics = new StartupMetrics(() -> now);
+
+    @Test
+    public void measuresEachMilestoneFromStart() {
+        metrics.start();
+        now += 12 * MS;
+        metrics.mark(Milestone.DATABASE_OPEN);
+        now += 8 * MS;
+        metrics.mark(Milestone.FIRST_PAGE_WARM);
+        now += 160 * MS;
+        metrics.mark(Milestone.FIRST_DRAW);
+        now += 30 * MS;
+        metrics.mark(Milestone.FIRST_TASK);
+
+        assertEquals(12.0, metrics.getMillis(Milestone.DATABASE_OPEN), 0.0);
+        assertEquals(20.0, metrics.getMillis(Milestone.FIRST_PAGE_WARM), 0.0);
+        assertEquals(180.0, metrics.getMillis(Milestone.FIRST_DRAW), 0.0);
+        assertEquals(210.0, metrics.getMillis(Milestone.FIRST_TASK), 0.0);
+    }
+
+    @Test
+    public void onlyTheFirstMarkCounts() {
+        metrics.start();
+        now += 100 * MS;
+        assertTrue(metrics.mark(Milestone.FIRST_DRAW));
+        now += 900 * MS;
+        assertFalse("a warm relaunch must not overwrite the cold number", metrics.mark(Milestone.FIRST_DRAW));
+
+        assertEquals(100.0, metrics.getMillis(Milestone.FIRST_DRAW), 0.0);
+    }
+
+    @Test
+    public void unreachedAndUnstartedMilestonesReportMinusOne() {
+        assertFalse(metrics.mark(Milestone.FIRST_TASK));
+        assertEquals(-1, metrics.getMillis(Milestone.FIRST_TASK), 0.0);
+
+        metrics.start();
+        assertFalse(metrics.isReached(Milestone.FIRST_TASK));
+        assertEquals(-1, metrics.getMillis(Milestone.FIRST_TASK), 0.0);
+    }
+
+    @Test
+    public void startForgetsPreviousMilestones() {
+        metrics.start();
+        metrics.mark(Milestone.FIRST_DRAW);
+        metrics.start();
+
+        assertFalse(metrics.isReached(Milestone.FIRST_DRAW));
+    }
+
+    @Test
+    public void summaryListsEveryMilestone() {
+        metrics.start();
+        now += 12 * MS;
+        metrics.mark(Milestone.DATABASE_OPEN);
+
+        assertEquals("database open 12.0 ms, first page warm pending, first draw pending, first task pending",
+                metrics.summary());
+    }
+}
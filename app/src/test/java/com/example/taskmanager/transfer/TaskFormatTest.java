@@ -0,0 +1,241 @@
+package com.example.taskmanager.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.example.taskmanager.data.Task;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Round trips through both formats. The large tests stream a generated million-task file to
+ * disk and back, regenerating each expected task instead of keeping a list, so the codecs are
+ * the only thing that could hold on to rows.
+ */
+public class TaskFormatTest {
+    private static final int LARGE_COUNT = 1_000_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void json_millionTasksRoundTrip() throws IOException {
+        assertLargeRoundTrip(TaskFormat.JSON);
+    }
+
+    @Test
+    public void csv_millionTasksRoundTrip() throws IOException {
+        assertLargeRoundTrip(TaskFormat.CSV);
+    }
+
+    @Test
+    public void json_escapesSurviveRoundTrip() throws IOException {
+        assertSmallRoundTrip(TaskFormat.JSON);
+    }
+
+    @Test
+    public void csv_escapesSurviveRoundTrip() throws IOException {
+        assertSmallRoundTrip(TaskFormat.CSV);
+    }
+
+    @Test
+    public void json_emptyExportReadsBackEmpty() throws IOException {
+        assertTrue(readsBackEmpty(TaskFormat.JSON));
+    }
+
+    @Test
+    public void csv_emptyExportReadsBackEmpty() throws IOException {
+        assertTrue(readsBackEmpty(TaskFormat.CSV));
+    }
+
+    @Test
+    public void json_skipsUnknownKeysAndFillsMissingOnes() throws IOException {
+        String json = "{\"exportedBy\":{\"app\":\"x\",\"list\":[1,\"]\"]},\"version\":2,\"tasks\":[\n"
+                + "{\"title\":\"A\",\"priority\":3,\"tags\":[\"work\"]}]}";
+        TaskReader reader = TaskFormat.JSON.newReader(new StringReader(json));
+        Task task = new Task();
+        task.setDescription("stale");
+        task.setDueDate(42);
+
+        assertTrue(reader.read(task));
+        assertEquals("A", task.getTitle());
+        assertNull(task.getDescription());
+        assertEquals(0, task.getDueDate());
+        assertFalse(reader.read(task));
+    }
+
+    @Test
+    public void csv_matchesColumnsByHeader() throws IOException {
+        String csv = "dueDate,notes,TITLE\n5,ignored,\"Buy milk, eggs\"\n\n7,,Plain\r\n";
+        TaskReader reader = TaskFormat.CSV.newReader(new StringReader(csv));
+        Task task = new Task();
+
+        assertTrue(reader.read(task));
+        assertEquals("Buy milk, eggs", task.getTitle());
+        assertEquals(5, task.getDueDate());
+        assertNull(task.getDescription());
+        assertTrue(reader.read(task));
+        assertEquals("Plain", task.getTitle());
+        assertEquals(7, task.getDueDate());
+        assertFalse(reader.read(task));
+    }
+
+    @Test
+    public void malformedInputReportsWhere() throws IOException {
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[{\"title\":\"A\",\"dueDate\":1.5}]}");
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[{\"title\":\"unterminated}]}");
+        assertReadFails(TaskFormat.CSV, "title,dueDate\nA,soon\n");
+        assertReadFails(TaskFormat.CSV, "title\n\"open\n");
+        assertReadFails(TaskFormat.CSV, "name\nA\n");
+    }
+
+    @Test
+    public void outOfRangeValuesAreRejected() throws IOException {
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[{\"title\":\"A\",\"dueDate\":9223372036854775808}]}");
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[{\"title\":\"A\",\"dueDate\":-9223372036854775809}]}");
+        assertReadFails(TaskFormat.CSV, "title,completed\nA,yes\n");
+
+        Task task = new Task();
+        TaskReader json = TaskFormat.JSON.newReader(new StringReader(
+                "{\"tasks\":[{\"title\":\"A\",\"dueDate\":-9223372036854775808,\"completedAt\":9223372036854775807}]}"));
+        assertTrue(json.read(task));
+        assertEquals(Long.MIN_VALUE, task.getDueDate());
+        assertEquals(Long.MAX_VALUE, task.getCompletedAt());
+
+        TaskReader csv = TaskFormat.CSV.newReader(new StringReader("title,completed\nA,TRUE\nB,\n"));
+        assertTrue(csv.read(task));
+        assertTrue(task.isCompleted());
+        assertTrue(csv.read(task));
+        assertFalse(task.isCompleted());
+    }
+
+    @Test
+    public void json_rejectsMissingAndStrayCommas() {
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[,{\"title\":\"A\"}]}");
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[{\"title\":\"A\"} {\"title\":\"B\"}]}");
+        assertReadFails(TaskFormat.JSON, "{\"tasks\":[{\"title\":\"A\"},]}");
+        assertReadFails(TaskFormat.JSON, "{,\"tasks\":[]}");
+        assertReadFails(TaskFormat.JSON, "{\"version\":2 \"tasks\":[]}");
+    }
+
+    @Test
+    public void csv_ignoresAByteOrderMark() throws IOException {
+        TaskReader reader = TaskFormat.CSV.newReader(new StringReader("\uFEFF\"title\",dueDate\nA,5\n"));
+        Task task = new Task();
+
+        assertTrue(reader.read(task));
+        assertEquals("A", task.getTitle());
+        assertEquals(5, task.getDueDate());
+        assertFalse(reader.read(task));
+    }
+
+    @Test
+    public void detect_usesMimeTypeOrExtension() {
+        assertEquals(TaskFormat.JSON, TaskFormat.detect("application/json", null));
+        assertEquals(TaskFormat.CSV, TaskFormat.detect("application/octet-stream", "Tasks.CSV"));
+        assertNull(TaskFormat.detect("text/plain", "tasks.txt"));
+    }
+
+    private void assertLargeRoundTrip(TaskFormat format) throws IOException {
+        File file = folder.newFile("tasks." + format.getExtension());
+        Task row = new Task();
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            TaskWriter writer = format.newWriter(out);
+            for (int i = 0; i < LARGE_COUNT; i++) {
+                generate(i, row);
+                writer.write(row);
+            }
+            writer.finish();
+        }
+
+        Task expected = new Task();
+        int count = 0;
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            TaskReader reader = format.newReader(in);
+            while (reader.read(row)) {
+                generate(count, expected);
+                assertEquals("task " + count, expected, row);
+                count++;
+            }
+        }
+        assertEquals(LARGE_COUNT, count);
+    }
+
+    private void assertSmallRoundTrip(TaskFormat format) throws IOException {
+        String[] values = {
+                null, "", " padded ", "comma, separated", "say \"hi\"", "line\nbreak", "crlf\r\nbreak",
+                "tab\tand\\backslash", "\u0000\u001f control", "emoji \uD83D\uDE00 and \u00e9",
+                "\u2028\u2029 separators", "\"", ",", "\n"
+        };
+        StringWriter out = new StringWriter();
+        TaskWriter writer = format.newWriter(new BufferedWriter(out));
+        Task task = new Task();
+        for (String value : values) {
+            fill(task, value, value, value, Long.MIN_VALUE, true, Long.MAX_VALUE);
+            writer.write(task);
+        }
+        writer.finish();
+
+        TaskReader reader = format.newReader(new StringReader(out.toString()));
+        Task expected = new Task();
+        for (String value : values) {
+            fill(expected, value, value, value, Long.MIN_VALUE, true, Long.MAX_VALUE);
+            assertTrue(reader.read(task));
+            assertEquals(String.valueOf(value), expected, task);
+        }
+        assertFalse(reader.read(task));
+    }
+
+    private static boolean readsBackEmpty(TaskFormat format) throws IOException {
+        StringWriter out = new StringWriter();
+        format.newWriter(out).finish();
+        return !format.newReader(new StringReader(out.toString())).read(new Task());
+    }
+
+    private static void assertReadFails(TaskFormat format, String input) {
+        try {
+            Task task = new Task();
+            TaskReader reader = format.newReader(new StringReader(input));
+            while (reader.read(task)) {
+                // Drain until the bad row
+            }
+            fail("Expected a parse error for " + input);
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().matches(".*(line|character) \\d+.*|.*title.*"));
+        }
+    }
+
+    // Deterministic per index, so expected tasks can be rebuilt while reading
+    private static void generate(int i, Task into) {
+        String description = i % 3 == 0 ? null : "Details for task " + i + (i % 7 == 0 ? ", with \"quotes\"\nand a newline" : "");
+        String rule = i % 5 == 0 ? "FREQ=WEEKLY;INTERVAL=" + (1 + i % 4) : null;
+        boolean completed = i % 4 == 0;
+        fill(into, "Task " + i, description, rule, i % 11 == 0 ? 0 : 1_700_000_000_000L + i * 60_000L,
+                completed, completed ? 1_700_000_000_000L + i : 0);
+    }
+
+    private static void fill(Task into, String title, String description, String rule, long dueDate,
+                             boolean completed, long completedAt) {
+        into.setTitle(title);
+        into.setDescription(description);
+        into.setRecurrenceRule(rule);
+        into.setDueDate(dueDate);
+        into.setCompleted(completed);
+        into.setCompletedAt(completedAt);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.taskmanager.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskmanager.data.AppDatabase;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Export from one database and import into another, across several pages of each. */
+@RunWith(RobolectricTestRunner.class)
+public class TaskTransferTest {
+    // Two full pages and a partial one
+    private static final int COUNT = TaskTransfer.PAGE_SIZE * 2 + 345;
+
+    private AppDatabase source;
+    private AppDatabase target;
+
+    @Before
+    public void setUp() {
+        source = open();
+        target = open();
+    }
+
+    @After
+    public void tearDown() {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void json_roundTripKeepsEveryTaskInOrder() throws IOException {
+        assertRoundTrip(TaskFormat.JSON);
+    }
+
+    @Test
+    public void csv_roundTripKeepsEveryTaskInOrder() throws IOException {
+        assertRoundTrip(TaskFormat.CSV);
+    }
+
+    @Test
+    public void export_reportsProgressPerPage() throws IOException {
+        insertTasks(source.taskDao());
+        List<Long> reported = new ArrayList<>();
+
+        long written = TaskTransfer.export(source.taskDao(), TaskFormat.CSV, new ByteArrayOutputStream(),
+                (done, total) -> {
+                    assertEquals(COUNT, total);
+                    reported.add(done);
+                });
+
+        assertEquals(COUNT, written);
+        assertEquals(3, reported.size());
+        assertEquals(COUNT, (long) reported.get(reported.size() - 1));
+    }
+
+    @Test
+    public void import_badRowKeepsEarlierPages() {
+        StringBuilder csv = new StringBuilder("title,dueDate\n");
+        for (int i = 0; i < TaskTransfer.PAGE_SIZE + 10; i++) {
+            csv.append("Task ").append(i).append(',').append(i).append('\n');
+        }
+        csv.append("Broken,tomorrow\n");
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        try {
+            TaskTransfer.importFrom(target.taskDao(), TaskFormat.CSV, new ByteArrayInputStream(bytes), bytes.length, null);
+            fail("Expected the bad row to stop the import");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("line"));
+        }
+        assertEquals(TaskTransfer.PAGE_SIZE, target.taskDao().count());
+    }
+
+    private void assertRoundTrip(TaskFormat format) throws IOException {
+        insertTasks(source.taskDao());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(COUNT, TaskTransfer.export(source.taskDao(), format, out, null));
+        byte[] bytes = out.toByteArray();
+        long[] lastProgress = new long[2];
+        long imported = TaskTransfer.importFrom(target.taskDao(), format, new ByteArrayInputStream(bytes),
+                bytes.length, (done, total) -> {
+                    lastProgress[0] = done;
+                    lastProgress[1] = total;
+                });
+
+        assertEquals(COUNT, imported);
+        assertEquals(bytes.length, lastProgress[0]);
+        assertEquals(bytes.length, lastProgress[1]);
+        // Ids are reassigned on import, in file order
+        for (int i = 1; i <= COUNT; i++) {
+            Task expected = source.taskDao().getTaskById(i);
+            Task actual = target.taskDao().getTaskById(i);
+            assertEquals("task " + i, expected, actual);
+        }
+    }
+
+    private static void insertTasks(TaskDao dao) {
+        List<Task> tasks = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i + (i % 10 == 0 ? ", \"quoted\"" : ""));
+            task.setDescription(i % 3 == 0 ? null : "Line one\nline two " + i);
+            task.setDueDate(i % 7 == 0 ? 0 : 1_700_000_000_000L + i * 60_000L);
+            task.setRecurrenceRule(i % 5 == 0 ? "FREQ=DAILY" : null);
+            task.setCompleted(i % 4 == 0);
+            task.setCompletedAt(i % 4 == 0 ? 1_700_000_000_000L + i : 0);
+            tasks.add(task);
+        }
+        dao.insertAll(tasks);
+    }
+
+    private static AppDatabase open() {
+        return Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+public class DateLabelsTest {
+    private static final long HOUR = 60L * 60 * 1000;
+    // 2023-11-14 22:13:20 UTC
+    private static final long TIMESTAMP = 1_700_000_000_000L;
+
+    @Test
+    public void format_reusesLabelForSameLocalDay() {
+        DateLabels labels = new DateLabels(Locale.UK, TimeZone.getTimeZone("UTC"));
+
+        String first = labels.format(TIMESTAMP);
+
+        assertEquals("14 Nov 2023", first);
+        assertSame(first, labels.format(TIMESTAMP - 20 * HOUR));
+    }
+
+    @Test
+    public void format_splitsDaysAtLocalMidnight() {
+        DateLabels labels = new DateLabels(Locale.UK, TimeZone.getTimeZone("UTC"));
+
+        assertEquals("14 Nov 2023", labels.format(TIMESTAMP + HOUR));
+        assertEquals("15 Nov 2023", labels.format(TIMESTAMP + 2 * HOUR));
+    }
+
+    @Test
+    public void format_handlesDaysSharingASlot() {
+        DateLabels labels = new DateLabels(Locale.UK, TimeZone.getTimeZone("UTC"));
+        long slotsApart = 512L * 24 * HOUR;
+
+        String first = labels.format(TIMESTAMP);
+        String second = labels.format(TIMESTAMP + slotsApart);
+
+        assertNotEquals(first, second);
+        assertEquals(first, labels.format(TIMESTAMP));
+    }
+
+    @Test
+    public void reset_appliesNewTimeZoneAndLocale() {
+        DateLabels labels = new DateLabels(Locale.UK, TimeZone.getTimeZone("UTC"));
+        assertEquals("14 Nov 2023", labels.format(TIMESTAMP));
+
+        labels.reset(Locale.UK, TimeZone.getTimeZone("Asia/Tokyo"));
+        assertEquals("15 Nov 2023", labels.format(TIMESTAMP));
+
+        labels.reset(Locale.GERMANY, TimeZone.getTimeZone("UTC"));
+        assertNotEquals("14 Nov 2023", labels.format(TIMESTAMP));
+    }
+}
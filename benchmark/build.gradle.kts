@@ -0,0 +1,51 @@
+// JVM-only JMH benchmarks for the task domain hot paths.
+// Run with: ./gradlew :benchmark:jmh  (results in build/reports/jmh/results.json)
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+sourceSets {
+    named("jmh") {
+        java {
+            // Compile the app's plain-Java domain classes directly so the benchmarks measure the shipped code
+            srcDir("../app/src/main/java")
+            include(
+                "com/example/taskmanager/benchmark/**",
+                "com/example/taskmanager/data/Task.java",
+                "com/example/taskmanager/data/TaskListItem.java",
+                "com/example/taskmanager/data/TagFilter.java",
+                "com/example/taskmanager/util/DateLabels.java",
+                "com/example/taskmanager/agenda/**",
+                "com/example/taskmanager/recurrence/**",
+                // Codecs only; TaskTransfer and SnapshotBackup need the database
+                "com/example/taskmanager/transfer/TaskFormat.java",
+                "com/example/taskmanager/transfer/TaskReader.java",
+                "com/example/taskmanager/transfer/TaskWriter.java",
+                "com/example/taskmanager/transfer/Json*.java",
+                "com/example/taskmanager/transfer/Csv*.java",
+                "com/example/taskmanager/backup/SnapshotFormat.java",
+                "com/example/taskmanager/backup/SnapshotReader.java",
+                "com/example/taskmanager/backup/SnapshotWriter.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    // Annotations only; Task and TaskListItem carry Room metadata
+    jmh(libs.androidx.room.common)
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.agenda.AgendaRow;
+import com.example.taskmanager.agenda.AgendaSections;
+import com.example.taskmanager.data.TaskListItem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucketing and header insertion as the agenda list does it: one page of 50 rows at a time
+ * (the cost per page load) and the whole sorted table in one go as a worst case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AgendaSectionsBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"50000"})
+    int size;
+
+    private List<TaskListItem> items;
+    private AgendaSections sections;
+
+    @Setup
+    public void setUp() {
+        items = TaskFixtures.listItems(TaskFixtures.tasks(size, 3));
+        items.sort(Comparator.comparingLong(TaskListItem::getDueDate).thenComparingInt(TaskListItem::getId));
+        // "Now" in the middle of the generated range so every section is populated
+        sections = new AgendaSections(TaskFixtures.BASE_DUE_DATE + 180L * 24 * 60 * 60 * 1000,
+                TimeZone.getTimeZone("UTC"), Locale.UK);
+    }
+
+    @Benchmark
+    public List<AgendaRow> onePage() {
+        return section(items.subList(size / 2, size / 2 + PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<AgendaRow> wholeTable() {
+        return section(items);
+    }
+
+    private List<AgendaRow> section(List<TaskListItem> page) {
+        List<AgendaRow> rows = new ArrayList<>(page.size() + 5);
+        AgendaRow previous = null;
+        for (TaskListItem item : page) {
+            AgendaRow row = sections.toRow(item);
+            AgendaRow header = sections.headerBetween(previous, row);
+            if (header != null) rows.add(header);
+            rows.add(row);
+            previous = row;
+        }
+        return rows;
+    }
+}
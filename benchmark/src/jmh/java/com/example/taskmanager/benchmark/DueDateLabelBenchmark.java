@@ -0,0 +1,54 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.util.DateLabels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/** Per-row due-date label cost: the original per-bind formatter versus the shared DateLabels cache. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DueDateLabelBenchmark {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private SimpleDateFormat sharedFormat;
+    private int row;
+
+    @Setup
+    public void setUp() {
+        sharedFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
+    }
+
+    private long nextDueDate() {
+        // Cycle through a month of dates like a scrolling list would
+        row = (row + 1) & 31;
+        return TaskFixtures.BASE_DUE_DATE + row * DAY_MILLIS;
+    }
+
+    @Benchmark
+    public String newFormatterPerBind() {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
+        return sdf.format(new Date(nextDueDate()));
+    }
+
+    @Benchmark
+    public String sharedFormatter() {
+        return sharedFormat.format(new Date(nextDueDate()));
+    }
+
+    @Benchmark
+    public String dateLabels() {
+        return DateLabels.get().format(nextDueDate());
+    }
+}
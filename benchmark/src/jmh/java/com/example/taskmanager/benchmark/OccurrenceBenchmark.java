@@ -0,0 +1,70 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.recurrence.OccurrenceGenerator;
+import com.example.taskmanager.recurrence.RecurrenceRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One week of a daily series, {@code yearsAhead} after it started: stepping from the first
+ * occurrence as a naive expansion would, the generator jumping straight to the window on a
+ * cache miss, and the same window again as a scrolling list re-binds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OccurrenceBenchmark {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    @Param({"1", "10"})
+    int yearsAhead;
+
+    private final RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY");
+    private final OccurrenceGenerator generator = OccurrenceGenerator.get();
+    private long first;
+    private long windowFrom;
+    private long missOffset;
+
+    @Setup
+    public void setUp() {
+        first = TaskFixtures.BASE_DUE_DATE;
+        windowFrom = first + yearsAhead * 365L * DAY_MILLIS;
+    }
+
+    @Benchmark
+    public int naiveFromFirst() {
+        Calendar calendar = Calendar.getInstance(TimeZone.getDefault());
+        calendar.setTimeInMillis(first);
+        long windowTo = windowFrom + 7 * DAY_MILLIS;
+        int found = 0;
+        while (calendar.getTimeInMillis() < windowTo) {
+            if (calendar.getTimeInMillis() >= windowFrom) found++;
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long[] generatorMiss() {
+        // A different, non-adjacent week every call so the cached run never answers
+        missOffset = (missOffset + 30 * DAY_MILLIS) % (3650 * DAY_MILLIS);
+        long from = windowFrom + missOffset;
+        return generator.between(rule, first, from, from + 7 * DAY_MILLIS, 100);
+    }
+
+    @Benchmark
+    public long[] generatorHit() {
+        return generator.between(rule, first, windowFrom, windowFrom + 7 * DAY_MILLIS, 100);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.backup.SnapshotReader;
+import com.example.taskmanager.backup.SnapshotWriter;
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.transfer.TaskFormat;
+import com.example.taskmanager.transfer.TaskReader;
+import com.example.taskmanager.transfer.TaskWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backup snapshot against JSON export for the same tasks: encoding to a discarding sink, and
+ * decoding every row back into a reused {@link Task}. The snapshot carries more columns than
+ * the JSON rows, and its decode includes the checksum pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SnapshotBenchmark {
+    private static final String[] TASK_COLUMNS = {
+            "id", "title", "description", "dueDate", "recurrenceRule", "tagMask", "completed", "completedAt"
+    };
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    private List<Task> tasks;
+    private byte[] json;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        tasks = TaskFixtures.tasks(size, 17);
+        ByteArrayOutputStream jsonBytes = new ByteArrayOutputStream(size * 200);
+        writeJson(jsonBytes);
+        json = jsonBytes.toByteArray();
+        ByteArrayOutputStream snapshotBytes = new ByteArrayOutputStream(size * 100);
+        writeSnapshot(Channels.newChannel(snapshotBytes));
+        snapshot = snapshotBytes.toByteArray();
+    }
+
+    @Benchmark
+    public void encodeJson() throws IOException {
+        writeJson(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void encodeSnapshot() throws IOException {
+        writeSnapshot(Channels.newChannel(OutputStream.nullOutputStream()));
+    }
+
+    @Benchmark
+    public long decodeJson() throws IOException {
+        TaskReader reader = TaskFormat.JSON.newReader(
+                new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+        Task task = new Task();
+        long check = 0;
+        while (reader.read(task)) {
+            check += task.getDueDate() + task.getTitle().length();
+        }
+        return check;
+    }
+
+    @Benchmark
+    public long decodeSnapshot() throws IOException {
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(snapshot));
+        Task task = new Task();
+        long check = 0;
+        reader.nextTable();
+        while (reader.nextRow()) {
+            task.setId((int) reader.getLong());
+            task.setTitle(reader.getText());
+            task.setDescription(reader.getText());
+            task.setDueDate(reader.getLong());
+            task.setRecurrenceRule(reader.getText());
+            task.setTagMask(reader.getLong());
+            task.setCompleted(reader.getLong() != 0);
+            task.setCompletedAt(reader.getLong());
+            check += task.getDueDate() + task.getTitle().length();
+        }
+        return check;
+    }
+
+    private void writeJson(OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        TaskWriter tasksOut = TaskFormat.JSON.newWriter(writer);
+        for (Task task : tasks) {
+            tasksOut.write(task);
+        }
+        tasksOut.finish();
+    }
+
+    private void writeSnapshot(WritableByteChannel channel) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(channel, 7, 0);
+        writer.beginTable("tasks", TASK_COLUMNS);
+        for (Task task : tasks) {
+            writer.beginRow();
+            writer.putLong(task.getId())
+                    .putText(task.getTitle())
+                    .putText(task.getDescription())
+                    .putLong(task.getDueDate())
+                    .putText(task.getRecurrenceRule())
+                    .putLong(task.getTagMask())
+                    .putLong(task.isCompleted() ? 1 : 0)
+                    .putLong(task.getCompletedAt());
+            writer.endRow();
+        }
+        writer.endTable();
+        writer.finish();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.data.TagFilter;
+import com.example.taskmanager.data.TaskListItem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering tasks by three tags: the per-task bitmask against per-task tag id sets, which is
+ * what rows joined from task_tags amount to once loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TagFilterBenchmark {
+    private static final int TAGS = 20;
+    private static final int[] WANTED = {2, 5, 11};
+
+    @Param({"10000", "100000"})
+    int size;
+
+    private List<TaskListItem> items;
+    private List<Set<Integer>> tagSets;
+    private Set<Integer> wanted;
+    private TagFilter all;
+    private TagFilter any;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        items = new ArrayList<>(size);
+        tagSets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Set<Integer> tags = new HashSet<>();
+            long mask = 0;
+            // Up to six tags per task, so roughly one in ten carries all three wanted ones
+            for (int t = random.nextInt(7); t > 0; t--) {
+                int tag = random.nextInt(TAGS);
+                tags.add(tag);
+                mask |= TagFilter.bit(tag);
+            }
+            TaskListItem item = TaskFixtures.listItem(i + 1, "Task " + i, TaskFixtures.BASE_DUE_DATE + i);
+            item.setTagMask(mask);
+            items.add(item);
+            tagSets.add(tags);
+        }
+        long mask = 0;
+        wanted = new HashSet<>();
+        for (int tag : WANTED) {
+            mask |= TagFilter.bit(tag);
+            wanted.add(tag);
+        }
+        all = TagFilter.all(mask);
+        any = TagFilter.any(mask);
+    }
+
+    @Benchmark
+    public int maskAll() {
+        int matches = 0;
+        for (TaskListItem item : items) {
+            if (all.matches(item.getTagMask())) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int maskAny() {
+        int matches = 0;
+        for (TaskListItem item : items) {
+            if (any.matches(item.getTagMask())) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int tagSetsAll() {
+        int matches = 0;
+        for (Set<Integer> tags : tagSets) {
+            if (tags.containsAll(wanted)) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int tagSetsAny() {
+        int matches = 0;
+        for (Set<Integer> tags : tagSets) {
+            for (int tag : WANTED) {
+                if (tags.contains(tag)) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+}
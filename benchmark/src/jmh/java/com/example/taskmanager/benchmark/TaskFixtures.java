@@ -0,0 +1,60 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.data.Task;
+import com.example.taskmanager.data.TaskListItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Deterministic synthetic tasks shaped like real ones: short titles, optional descriptions, spread due dates. */
+final class TaskFixtures {
+    static final long BASE_DUE_DATE = 1_700_000_000_000L;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final String[] WORDS = {
+            "call", "buy", "review", "send", "book", "pay", "fix", "plan", "draft", "clean",
+            "report", "invoice", "dentist", "groceries", "meeting", "garden", "car", "tickets"
+    };
+
+    private TaskFixtures() {
+    }
+
+    static List<Task> tasks(int count, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId(i + 1);
+            task.setTitle(words(random, 2 + random.nextInt(3)));
+            task.setDescription(random.nextInt(4) == 0 ? null : words(random, 5 + random.nextInt(40)));
+            task.setDueDate(BASE_DUE_DATE + random.nextInt(365) * DAY_MILLIS);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<TaskListItem> listItems(List<Task> tasks) {
+        List<TaskListItem> items = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            items.add(listItem(task.getId(), task.getTitle(), task.getDueDate()));
+        }
+        return items;
+    }
+
+    static TaskListItem listItem(int id, String title, long dueDate) {
+        TaskListItem item = new TaskListItem();
+        item.setId(id);
+        item.setTitle(title);
+        item.setDueDate(dueDate);
+        return item;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.data.Task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Encoding and decoding whole task lists with a simple field-by-field binary layout. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSerializationBenchmark {
+    @Param({"10000", "100000"})
+    int size;
+
+    private List<Task> tasks;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        tasks = TaskFixtures.tasks(size, 11);
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                out.writeInt(task.getId());
+                writeNullableString(out, task.getTitle());
+                writeNullableString(out, task.getDescription());
+                out.writeLong(task.getDueDate());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<Task> decode() throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            int count = in.readInt();
+            List<Task> decoded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Task task = new Task();
+                task.setId(in.readInt());
+                task.setTitle(readNullableString(in));
+                task.setDescription(readNullableString(in));
+                task.setDueDate(in.readLong());
+                decoded.add(task);
+            }
+            return decoded;
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
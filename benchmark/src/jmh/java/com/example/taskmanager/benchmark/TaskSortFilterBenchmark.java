@@ -0,0 +1,60 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.data.Task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/** In-memory sorting and text filtering of large task lists. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSortFilterBenchmark {
+    private static final Comparator<Task> LIST_ORDER =
+            Comparator.comparingLong(Task::getDueDate).thenComparingInt(Task::getId);
+
+    @Param({"10000", "100000"})
+    int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = TaskFixtures.tasks(size, 7);
+    }
+
+    @Benchmark
+    public List<Task> sortByDueDate() {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(LIST_ORDER);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Task> filterByText() {
+        String needle = "invoice";
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (contains(task.getTitle(), needle) || contains(task.getDescription(), needle)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean contains(String text, String needle) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(needle);
+    }
+}